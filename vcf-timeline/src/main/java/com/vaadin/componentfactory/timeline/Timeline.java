@@ -24,8 +24,20 @@ import com.vaadin.componentfactory.timeline.context.ContextFormEventHandler;
 import com.vaadin.componentfactory.timeline.context.ItemContextMenuEventHandler;
 import com.vaadin.componentfactory.timeline.event.*;
 import com.vaadin.componentfactory.timeline.model.*;
+import com.vaadin.componentfactory.timeline.store.CompactItemStore;
+import com.vaadin.componentfactory.timeline.store.DependencyIndex;
+import com.vaadin.componentfactory.timeline.store.IndexedItemStore;
+import com.vaadin.componentfactory.timeline.store.ItemSnapshot;
+import com.vaadin.componentfactory.timeline.store.ItemStore;
+import com.vaadin.componentfactory.timeline.store.ItemsProvider;
+import com.vaadin.componentfactory.timeline.store.SnapshotItemStore;
+import com.vaadin.componentfactory.timeline.store.TimeBucketIndex;
+import com.vaadin.componentfactory.timeline.util.CompactItemsEncoder;
+import com.vaadin.componentfactory.timeline.util.ItemDensityAggregator;
+import com.vaadin.componentfactory.timeline.util.OverlayMap;
 import com.vaadin.componentfactory.timeline.util.TimelineUtil;
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.dependency.CssImport;
@@ -33,14 +45,20 @@ import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.internal.Pair;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -56,18 +74,53 @@ import java.util.stream.Collectors;
 @CssImport("./styles/mytimeline.css")
 public class Timeline extends Div {
 
+    /* Key of the client state of the items of a snapshot, shared by the timelines using it. */
+    private static final String CLIENT_STATE_CACHE_KEY = Timeline.class.getName() + ".clientState";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private ItemContextMenuEventHandler timeLineItemContextHandler;
 
-    private List<Item> items = new ArrayList<>();
+    private ItemStore itemStore = new IndexedItemStore();
     private List<ItemGroup> itemGroups = new ArrayList<>();
 
     private TimelineOptions timelineOptions = new TimelineOptions();
 
-    private List<String> selectedItemsIdsList = new ArrayList<>();
+    private final DependencyIndex dependencyIndex = new DependencyIndex();
+
+    private ItemsProvider itemsProvider;
+
+    private double itemsProviderBuffer = 0.5;
+
+    private LocalDateTime loadedRangeStart;
+
+    private LocalDateTime loadedRangeEnd;
+
+    /* Hash of the last state sent to the client for every item id, or null while it is unknown. */
+    private Map<String, Long> clientItemsState;
+
+    private boolean compactItemTransfer;
+
+    /* Client operations accumulated by the running batch, or null when no batch is running. */
+    private JsonArray batchOperations;
+
+    private Double levelOfDetailThreshold;
+
+    private int levelOfDetailBucketWidth = 8;
+
+    /* Groups whose items are currently replaced by aggregates on the client. */
+    private Set<String> aggregatedGroups = new HashSet<>();
 
-    private Map<String, Pair<LocalDateTime, LocalDateTime>> movedItemsMap = new HashMap<>();
+    /* Ids of the aggregates currently sent to the client. */
+    private Set<String> aggregateIds = new HashSet<>();
 
-    private Map<String, Pair<LocalDateTime, LocalDateTime>> movedItemsOldValuesMap = new HashMap<>();
+    private TimeBucketIndex timeBucketIndex;
+
+    private Registration timeBucketIndexRegistration;
+
+    private boolean timeBucketOverview;
 
     public Timeline() {
         setId("visualization" + this.hashCode());
@@ -77,15 +130,93 @@ public class Timeline extends Div {
 
     public Timeline(List<Item> items) {
         this();
-        this.items = new ArrayList<>(items);
+        this.itemStore.setItems(items);
     }
 
     public Timeline(List<Item> items, List<ItemGroup> itemGroups) {
         this();
-        this.items = new ArrayList<>(items);
+        this.itemStore.setItems(items);
         this.itemGroups = new ArrayList<>(itemGroups);
     }
 
+    /**
+     * Returns the store holding the items of the timeline.
+     *
+     * @return the item store
+     */
+    public ItemStore getItemStore() {
+        return itemStore;
+    }
+
+    /**
+     * Replaces the store holding the items of the timeline. Items of the current store are moved
+     * to the new one, leaving the current store empty.
+     * <p>
+     * A {@link CompactItemStore} reduces the memory used by timelines holding millions of items.
+     *
+     * @param itemStore the new item store
+     * @throws IllegalArgumentException if the new store rejects an item of the timeline, which then
+     *                                  keeps its current store
+     */
+    public void setItemStore(ItemStore itemStore) {
+        Objects.requireNonNull(itemStore, "Item store cannot be null");
+        // filled first, so the timeline is unchanged if the new store rejects an item
+        itemStore.setItems(new ArrayList<>(this.itemStore.getItems()));
+        ItemStore previousStore = this.itemStore;
+        this.itemStore = itemStore;
+        if (timeBucketIndex != null) {
+            // the index already holds the moved items
+            timeBucketIndexRegistration.remove();
+            timeBucketIndexRegistration = itemStore.addItemStoreListener(timeBucketIndex);
+        }
+        previousStore.clear();
+    }
+
+    /**
+     * Returns the index aggregating the items of the timeline in time buckets. The index is
+     * created on the first call and then kept up to date with the item store, which must extend
+     * {@link com.vaadin.componentfactory.timeline.store.AbstractItemStore}.
+     *
+     * @return the time bucket index
+     */
+    public TimeBucketIndex getTimeBucketIndex() {
+        if (timeBucketIndex == null) {
+            timeBucketIndex = new TimeBucketIndex(itemStore.getItems());
+            timeBucketIndexRegistration = itemStore.addItemStoreListener(timeBucketIndex);
+        }
+        return timeBucketIndex;
+    }
+
+    /**
+     * Sets whether the client displays the time buckets of the visible window as background
+     * items. The buckets are requested again every time the visible window changes, with a
+     * resolution matching the zoom level. Combined with {@link #setItemsProvider(ItemsProvider)}
+     * or {@link #setLevelOfDetailThreshold(Double)}, it gives an overview of a timeline without
+     * sending all its items.
+     *
+     * @param timeBucketOverview true to display the time buckets
+     */
+    public void setTimeBucketOverview(boolean timeBucketOverview) {
+        this.timeBucketOverview = timeBucketOverview;
+        if (timeBucketOverview) {
+            getTimeBucketIndex();
+        }
+        if (this.getElement().getNode().isAttached()) {
+            this.getElement().executeJs("vcftimeline.setTimeBucketOverview($0, $1)", this, timeBucketOverview);
+        }
+    }
+
+    public boolean isTimeBucketOverview() {
+        return timeBucketOverview;
+    }
+
+    /**
+     * Sets whether every item is connected to the next one in time order. These connectors are
+     * computed on the client and drawn together with the dependencies set with {@link
+     * #setDependencies(List)}, without replacing them.
+     *
+     * @param bUseLine true to connect the items
+     */
     public void setUseLineConnector(boolean bUseLine) {
         this.getElement()
                 .executeJs(
@@ -93,6 +224,87 @@ public class Timeline extends Div {
                         this, bUseLine);
     }
 
+    /**
+     * Replaces the dependencies drawn between the items. Only the dependencies that changed are
+     * redrawn on the client.
+     *
+     * @param dependencies the new dependencies
+     */
+    public void setDependencies(List<Dependency> dependencies) {
+        dependencyIndex.clear();
+        dependencies.forEach(dependencyIndex::add);
+        this.getElement()
+                .executeJs("vcftimeline.setDependencies($0, $1)", this, convertDependenciesToJson(dependencies));
+    }
+
+    /**
+     * Adds a dependency between two items. If a dependency with the same id exists, it is
+     * replaced.
+     *
+     * @param dependency the dependency to add
+     */
+    public void addDependency(Dependency dependency) {
+        dependencyIndex.add(dependency);
+        this.getElement()
+                .executeJs("vcftimeline.addDependencies($0, $1)", this,
+                        convertDependenciesToJson(Collections.singletonList(dependency)));
+    }
+
+    /**
+     * Removes a dependency.
+     *
+     * @param dependencyId id of the dependency to remove
+     */
+    public void removeDependency(String dependencyId) {
+        if (dependencyIndex.remove(dependencyId) != null) {
+            this.getElement().executeJs("vcftimeline.removeDependencies($0, $1)", this, dependencyId);
+        }
+    }
+
+    /**
+     * Returns the dependencies of the timeline.
+     *
+     * @return read-only list of the dependencies
+     */
+    public List<Dependency> getDependencies() {
+        return dependencyIndex.getDependencies();
+    }
+
+    /**
+     * Returns the items an item depends on, the sources of the dependencies ending at the item.
+     *
+     * @param itemId id of the item
+     * @return the predecessor items
+     */
+    public List<Item> getPredecessors(String itemId) {
+        return dependencyIndex.getIncoming(itemId).stream()
+                .map(dependency -> itemStore.get(dependency.getFromItemId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the items depending on an item, the targets of the dependencies starting from the
+     * item.
+     *
+     * @param itemId id of the item
+     * @return the successor items
+     */
+    public List<Item> getSuccessors(String itemId) {
+        return dependencyIndex.getOutgoing(itemId).stream()
+                .map(dependency -> itemStore.get(dependency.getToItemId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static JsonArray convertDependenciesToJson(Collection<Dependency> dependencies) {
+        JsonArray dependenciesJson = Json.createArray();
+        for (Dependency dependency : dependencies) {
+            dependenciesJson.set(dependenciesJson.length(), dependency.toJsonObject());
+        }
+        return dependenciesJson;
+    }
+
     protected TimelineOptions getTimelineOptions() {
         return this.timelineOptions;
     }
@@ -100,44 +312,400 @@ public class Timeline extends Div {
     @Override
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
-        selectedItemsIdsList = new ArrayList<>();
-        movedItemsMap = new HashMap<>();
-        movedItemsOldValuesMap = new HashMap<>();
         initTimeline();
     }
 
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        clientItemsState = null;
+    }
+
     private void initTimeline() {
+        if (itemsProvider != null) {
+            // in lazy mode items are loaded once the client reports its visible range
+            itemStore.clear();
+            loadedRangeStart = null;
+            loadedRangeEnd = null;
+        }
+        clientItemsState = new HashMap<>();
+        aggregatedGroups = new HashSet<>();
+        aggregateIds = new HashSet<>();
         if (itemGroups.size() == 0)
             this.getElement()
                     .executeJs(
                             "vcftimeline.create($0, $1, $2)",
                             this,
-                            "[" + convertItemsToJson() + "]",
+                            encodeItemsForClient(),
                             getTimelineOptions().toJSON());
         else
             this.getElement()
                     .executeJs(
                             "vcftimeline.createGroups($0, $1, $2, $3)",
                             this,
-                            "[" + convertItemsToJson() + "]",
-                            "[" + convertGroupItemsToJson() + "]",
+                            encodeItemsForClient(),
+                            convertGroupItemsToJson(),
                             getTimelineOptions().toJSON());
+        sendSnapshotChanges();
+        if (itemsProvider != null || levelOfDetailThreshold != null)
+            this.getElement().executeJs("vcftimeline.requestVisibleRange($0)", this);
+        if (timeBucketOverview)
+            this.getElement().executeJs("vcftimeline.setTimeBucketOverview($0, $1)", this, true);
+        if (dependencyIndex.size() > 0)
+            this.getElement()
+                    .executeJs("vcftimeline.setDependencies($0, $1)", this,
+                            convertDependenciesToJson(dependencyIndex.getDependencies()));
     }
 
-    private String convertItemsToJson() {
-        return this.items != null
-                ? this.items.stream().map(item -> item.toJSON()).collect(Collectors.joining(","))
-                : "";
+    /**
+     * Sets a provider used to load items lazily. When a provider is set, only the items
+     * overlapping the visible window plus a buffer on each side are kept in the timeline. Items are
+     * fetched again every time the visible window leaves the loaded range, and items outside the
+     * new range are removed from the client.
+     *
+     * @param itemsProvider the provider of items, or null to disable lazy loading
+     */
+    public void setItemsProvider(ItemsProvider itemsProvider) {
+        this.itemsProvider = itemsProvider;
+        this.loadedRangeStart = null;
+        this.loadedRangeEnd = null;
+        if (itemsProvider != null && this.getElement().getNode().isAttached()) {
+            this.getElement().executeJs("vcftimeline.requestVisibleRange($0)", this);
+        }
+    }
+
+    public ItemsProvider getItemsProvider() {
+        return itemsProvider;
+    }
+
+    /**
+     * Sets the size of the range loaded on each side of the visible window when items are loaded
+     * lazily, as a ratio of the visible window duration. By default, half a window is loaded on
+     * each side.
+     *
+     * @param itemsProviderBuffer ratio of the visible window loaded on each side
+     */
+    public void setItemsProviderBuffer(double itemsProviderBuffer) {
+        if (itemsProviderBuffer < 0) {
+            throw new IllegalArgumentException("Buffer ratio cannot be negative");
+        }
+        this.itemsProviderBuffer = itemsProviderBuffer;
+    }
+
+    /**
+     * Loads the items for the given visible window from the items provider, unless the window is
+     * still covered by the range loaded previously.
+     *
+     * @param windowStart start of the visible window
+     * @param windowEnd   end of the visible window
+     */
+    private void loadItemsForWindow(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (windowStart == null || windowEnd == null) {
+            return;
+        }
+        if (loadedRangeStart != null && !windowStart.isBefore(loadedRangeStart)
+                && !windowEnd.isAfter(loadedRangeEnd)) {
+            return;
+        }
+        Duration buffer = Duration.ofMillis(
+                (long) (Duration.between(windowStart, windowEnd).toMillis() * itemsProviderBuffer));
+        loadedRangeStart = windowStart.minus(buffer);
+        loadedRangeEnd = windowEnd.plus(buffer);
+
+        List<Item> loadedItems = itemsProvider.fetch(loadedRangeStart, loadedRangeEnd);
+        Set<String> loadedIds = loadedItems.stream().map(Item::getId).collect(Collectors.toSet());
+        List<String> evictedIds = itemStore.getItems().stream()
+                .map(Item::getId)
+                .filter(id -> !loadedIds.contains(id))
+                .collect(Collectors.toList());
+        itemStore.setItems(loadedItems);
+        // diffed against the client state, so items changed by the backend are sent again too
+        sendItemChanges(loadedItems, evictedIds);
+    }
+
+    /**
+     * Sets the density above which the items of a group are replaced by aggregates. When more
+     * items of a group overlap the visible window than the threshold times the width of the
+     * window in pixels, they are removed from the client and replaced by read-only items counting
+     * the items of fixed width buckets. The real items are sent back as soon as the window is
+     * zoomed in enough, e.g. with {@link #setZoomOption(Integer)}.
+     * <p>
+     * Aggregates are only refreshed when the visible window changes, items added to an aggregated
+     * group in between are displayed until then.
+     *
+     * @param itemsPerPixel number of items per pixel above which a group is aggregated, or null
+     *                      to always display the real items
+     */
+    public void setLevelOfDetailThreshold(Double itemsPerPixel) {
+        this.levelOfDetailThreshold = itemsPerPixel;
+        if (this.getElement().getNode().isAttached()) {
+            this.getElement().executeJs("vcftimeline.requestVisibleRange($0)", this);
+        }
+    }
+
+    public Double getLevelOfDetailThreshold() {
+        return levelOfDetailThreshold;
+    }
+
+    /**
+     * Sets the width in pixels of the buckets aggregating the items of dense groups. By default,
+     * buckets are 8 pixels wide.
+     *
+     * @param bucketWidth width of a bucket in pixels
+     */
+    public void setLevelOfDetailBucketWidth(int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive");
+        }
+        this.levelOfDetailBucketWidth = bucketWidth;
+    }
+
+    /**
+     * Replaces the items of the groups too dense for the visible window by aggregates, and sends
+     * back the items of the groups that are not anymore.
+     *
+     * @param windowStart start of the visible window
+     * @param windowEnd   end of the visible window
+     * @param width       width of the visible window in pixels
+     */
+    private void updateLevelOfDetail(LocalDateTime windowStart, LocalDateTime windowEnd, int width) {
+        if (clientItemsState == null || windowStart == null || windowEnd == null
+                || (levelOfDetailThreshold == null && aggregatedGroups.isEmpty())) {
+            return;
+        }
+        List<String> groups = itemGroups.isEmpty()
+                ? Collections.singletonList(null)
+                : itemGroups.stream().map(group -> String.valueOf(group.getGroupId())).collect(Collectors.toList());
+        int bucketCount = Math.max(1, width / levelOfDetailBucketWidth);
+
+        Set<String> newAggregatedGroups = new HashSet<>();
+        Set<String> newAggregateIds = new HashSet<>();
+        List<Item> changedItems = new ArrayList<>();
+        List<String> removedIds = new ArrayList<>();
+        for (String group : groups) {
+            List<Item> windowItems = Collections.emptyList();
+            boolean dense = false;
+            if (levelOfDetailThreshold != null && width > 0) {
+                windowItems = itemStore.findItems(group, windowStart, windowEnd);
+                dense = windowItems.size() > levelOfDetailThreshold * width;
+            }
+            if (dense) {
+                newAggregatedGroups.add(group);
+                for (Item aggregate : ItemDensityAggregator.aggregate(group, windowItems, windowStart, windowEnd, bucketCount)) {
+                    changedItems.add(aggregate);
+                    newAggregateIds.add(aggregate.getId());
+                }
+                // the other items of an already aggregated group were removed when it was aggregated
+                Collection<Item> hiddenItems = aggregatedGroups.contains(group) ? windowItems : findGroupItems(group);
+                for (Item item : hiddenItems) {
+                    if (item.getId() != null && clientItemsState.containsKey(item.getId())) {
+                        removedIds.add(item.getId());
+                    }
+                }
+            } else if (aggregatedGroups.contains(group)) {
+                for (Item item : findGroupItems(group)) {
+                    if (item.getId() != null && !clientItemsState.containsKey(item.getId())) {
+                        changedItems.add(item);
+                    }
+                }
+            }
+        }
+        aggregateIds.stream().filter(id -> !newAggregateIds.contains(id)).forEach(removedIds::add);
+        aggregateIds = newAggregateIds;
+        aggregatedGroups = newAggregatedGroups;
+        sendItemChanges(changedItems, removedIds);
+    }
+
+    /** Returns every item of a group, or of the timeline for a null group, in start order. */
+    private List<Item> findGroupItems(String group) {
+        return itemStore.findItems(group, LocalDateTime.MIN, LocalDateTime.MAX);
+    }
+
+    /**
+     * Sets whether items sent in bulk, when the timeline is created and when all its items are
+     * replaced, use a compact columnar encoding instead of one JSON object per item. Dates are then
+     * sent as numbers and repeated group, class name and style values are sent once, which makes
+     * the payload of dense timelines several times smaller. Disabled by default.
+     *
+     * @param compactItemTransfer true to send items in the columnar encoding
+     */
+    public void setCompactItemTransfer(boolean compactItemTransfer) {
+        this.compactItemTransfer = compactItemTransfer;
+    }
+
+    public boolean isCompactItemTransfer() {
+        return compactItemTransfer;
+    }
+
+    /**
+     * Encodes all items of the store to be sent to the client, using the columnar encoding if
+     * enabled.
+     */
+    private JsonValue encodeItemsForClient() {
+        if (itemStore instanceof SnapshotItemStore
+                && ((SnapshotItemStore) itemStore).getSnapshot().size() > 0) {
+            return encodeSnapshotForClient(((SnapshotItemStore) itemStore).getSnapshot());
+        }
+        if (!compactItemTransfer) {
+            return convertItemsToJson();
+        }
+        itemStore.getItems().forEach(this::markItemSynced);
+        return CompactItemsEncoder.encode(itemStore.getItems());
+    }
+
+    /**
+     * Returns the payload cached by the snapshot. The client state of its items is shared too, the
+     * changes of the store are sent afterwards by {@link #sendSnapshotChanges()}.
+     */
+    private JsonValue encodeSnapshotForClient(ItemSnapshot snapshot) {
+        if (clientItemsState != null) {
+            clientItemsState = new OverlayMap<>(snapshot.getCachedValue(CLIENT_STATE_CACHE_KEY,
+                    s -> Collections.unmodifiableMap(s.getItems().stream().collect(Collectors.toMap(
+                            Item::getId, Timeline::clientState, (a, b) -> b, LinkedHashMap::new)))));
+        }
+        return compactItemTransfer ? snapshot.getCompactItemsJson() : snapshot.getItemsJson();
+    }
+
+    /**
+     * Sends the items changed in a {@link SnapshotItemStore} since its snapshot was set, after the
+     * snapshot itself was sent.
+     */
+    private void sendSnapshotChanges() {
+        if (clientItemsState instanceof OverlayMap && itemStore instanceof SnapshotItemStore
+                && ((SnapshotItemStore) itemStore).hasChanges()) {
+            SnapshotItemStore store = (SnapshotItemStore) itemStore;
+            sendItemChanges(new ArrayList<>(store.getChangedItems()), new ArrayList<>(store.getRemovedIds()));
+        }
+    }
+
+    private JsonArray convertItemsToJson() {
+        JsonArray itemsJson = Json.createArray();
+        for (Item item : itemStore.getItems()) {
+            itemsJson.set(itemsJson.length(), toClientJson(item));
+        }
+        return itemsJson;
+    }
+
+    /**
+     * Serializes an item to be sent to the client, remembering the sent state so later changes can
+     * be sent as a diff.
+     */
+    private JsonObject toClientJson(Item item) {
+        markItemSynced(item);
+        return item.toJsonObject();
+    }
+
+    /**
+     * Sends to the client the given items that are new or differ from what was last sent, and
+     * removes the given ids, in a single call applying the batches to the client DataSet.
+     *
+     * @param changedItems items that may have been added or changed
+     * @param removedIds   ids of the items to remove
+     */
+    private void sendItemChanges(Collection<Item> changedItems, Collection<String> removedIds) {
+        List<Item> addedItems = new ArrayList<>();
+        JsonArray updated = Json.createArray();
+        for (Item item : changedItems) {
+            if (item.getId() == null) {
+                continue;
+            }
+            long state = clientState(item);
+            Long previous = clientItemsState.put(item.getId(), state);
+            if (previous == null) {
+                addedItems.add(item);
+            } else if (previous != state) {
+                updated.set(updated.length(), item.toJsonObject());
+            }
+        }
+        removedIds.forEach(clientItemsState::remove);
+        if (!addedItems.isEmpty() || updated.length() > 0 || !removedIds.isEmpty()) {
+            JsonValue added;
+            if (compactItemTransfer) {
+                added = CompactItemsEncoder.encode(addedItems);
+            } else {
+                JsonArray addedJson = Json.createArray();
+                addedItems.forEach(item -> addedJson.set(addedJson.length(), item.toJsonObject()));
+                added = addedJson;
+            }
+            flushBatch();
+            this.getElement()
+                    .executeJs("vcftimeline.applyItemsDiff($0, $1, $2, $3)", this,
+                            added, updated, String.join(",", removedIds));
+        }
+    }
+
+    /**
+     * Records the current state of an item changed on both sides, e.g. moved on the client and
+     * updated on the server, so it is not sent again by the next diff.
+     */
+    private void markItemSynced(Item item) {
+        if (clientItemsState != null && item != null && item.getId() != null) {
+            clientItemsState.put(item.getId(), clientState(item));
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the values of an item that are sent to the client, to compare
+     * it with the state the client already has without serializing it or keeping its values.
+     */
+    private static long clientState(Item item) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, item.getContent());
+        hash = hash(hash, item.getStart());
+        hash = hash(hash, item.getEnd());
+        hash = hash(hash, item.getGroup());
+        hash = hash(hash, item.getSubgroup());
+        hash = hash(hash, item.getSubgroupOrder());
+        hash = hash(hash, item.getSelectable());
+        hash = hash(hash, item.getEditable());
+        hash = hash(hash, item.getUpdateTime());
+        hash = hash(hash, item.getRemove());
+        hash = hash(hash, item.getTitle());
+        hash = hash(hash, item.getClassName());
+        return hash(hash, item.getStyle());
+    }
+
+    /* Strings are hashed with their length, so that consecutive values cannot shift into each other. */
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return hash(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash(hash, value.length());
+    }
+
+    private static long hash(long hash, LocalDateTime value) {
+        if (value == null) {
+            return hash(hash, Long.MIN_VALUE);
+        }
+        return hash(hash(hash, value.toEpochSecond(ZoneOffset.UTC)), value.getNano());
+    }
+
+    private static long hash(long hash, Boolean value) {
+        return hash(hash, value == null ? 2 : value ? 1 : 0);
+    }
+
+    private static long hash(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ (value >>> shift & 0xff)) * FNV_PRIME;
+        }
+        return hash;
     }
 
     public List<ItemGroup> getItemGroups() {
         return itemGroups;
     }
 
-    private String convertGroupItemsToJson() {
-        return this.itemGroups != null
-                ? this.itemGroups.stream().map(groupItems -> groupItems.toJSON()).collect(Collectors.joining(","))
-                : "";
+    private JsonArray convertGroupItemsToJson() {
+        JsonArray groupsJson = Json.createArray();
+        if (this.itemGroups != null) {
+            for (ItemGroup itemGroup : itemGroups) {
+                groupsJson.set(groupsJson.length(), itemGroup.toJsonObject());
+            }
+        }
+        return groupsJson;
     }
 
     /**
@@ -146,13 +714,74 @@ public class Timeline extends Div {
      * @param item the new item to add to the timeline
      */
     public void addItem(Item item, boolean autoZoom) {
-        this.items.add(item);
+        this.itemStore.add(item);
+        JsonObject itemJson = toClientJson(item);
         ItemAddEvent event = new ItemAddEvent(this, item, true);
         try {
             fireEvent(event);
         } catch (RuntimeException ignored) {
         }
-        this.getElement().executeJs("vcftimeline.addItem($0, $1, $2)", this, item.toJSON(), autoZoom);
+        if (batchOperations != null) {
+            addBatchOperation("add", itemJson);
+        } else {
+            this.getElement().executeJs("vcftimeline.addItem($0, $1, $2)", this, itemJson, autoZoom);
+        }
+    }
+
+    /**
+     * Applies several item mutations at once. The mutations made on the given batch update the
+     * server side state immediately, but are sent to the client in a single call once the consumer
+     * returns, where they are applied as one add, update and remove on the items DataSet. This
+     * avoids a redraw of the timeline for every item, e.g. when importing many items.
+     * <p>
+     * Calling {@link #addItem}, {@link #updateItemContent}, {@link #updateItemGroup} or {@link
+     * #removeItem} directly while the consumer runs has the same effect as calling them on the
+     * batch. Any other method sending items or groups to the client, e.g. {@link #setItems} or
+     * {@link #setGroups}, first sends the operations queued so far, so the client applies all the
+     * changes in the order they were made on the server.
+     *
+     * @param mutations the mutations to apply
+     */
+    public void batch(Consumer<TimelineBatch> mutations) {
+        if (batchOperations != null) {
+            mutations.accept(new TimelineBatch(this));
+            return;
+        }
+        batchOperations = Json.createArray();
+        try {
+            mutations.accept(new TimelineBatch(this));
+        } finally {
+            flushBatch();
+            batchOperations = null;
+        }
+    }
+
+    /**
+     * Sends the operations queued by the running batch, if any, before the timeline calls the
+     * client directly.
+     */
+    private void flushBatch() {
+        if (batchOperations != null && batchOperations.length() > 0) {
+            this.getElement().executeJs("vcftimeline.applyBatch($0, $1)", this, batchOperations);
+            batchOperations = Json.createArray();
+        }
+    }
+
+    /**
+     * Records an operation of the running batch as an array holding its type followed by its
+     * arguments.
+     */
+    private void addBatchOperation(String type, Object... arguments) {
+        JsonArray operation = Json.createArray();
+        operation.set(0, type);
+        for (Object argument : arguments) {
+            if (argument instanceof JsonValue) {
+                operation.set(operation.length(), (JsonValue) argument);
+            } else {
+                operation.set(operation.length(), argument != null ? Json.create(argument.toString()) : Json.createNull());
+            }
+        }
+        batchOperations.set(batchOperations.length(), operation);
     }
 
     public void moveWindowTo(LocalDateTime startDateTime, LocalDateTime endDateTime) {
@@ -169,10 +798,29 @@ public class Timeline extends Div {
         getElement().executeJs("vcftimeline._moveWindowTo($0, $1, $2)", this, startDateTime.toString(), adjustedEndDateTime.toString());
     }
 
+    /**
+     * Converts a date received from the client to a local date time of the timeline. The client
+     * sends the epoch millis of the local date time it displays read as UTC, the same encoding as
+     * {@link CompactItemsEncoder}, so no time zone is involved on either side.
+     */
+    private LocalDateTime toLocalDateTime(double localEpochMillis) {
+        return CompactItemsEncoder.fromLocalEpochMillis((long) localEpochMillis);
+    }
+
+    /**
+     * Converts the epoch milliseconds of a property of an object received from the client, or
+     * returns null if the property is missing.
+     */
+    private LocalDateTime toLocalDateTime(JsonObject json, String key) {
+        return json.hasKey(key) && json.get(key).getType() == JsonType.NUMBER
+                ? toLocalDateTime(json.getNumber(key))
+                : null;
+    }
+
     @ClientCallable
-    public void jsAddItem(String start, String end, String group, boolean autoZoom) {
-        LocalDateTime startDateTime = TimelineUtil.convertDateTime(start);
-        LocalDateTime endDateTime = TimelineUtil.convertDateTime(end);
+    public void jsAddItem(double start, double end, String group, boolean autoZoom) {
+        LocalDateTime startDateTime = toLocalDateTime(start);
+        LocalDateTime endDateTime = toLocalDateTime(end);
         Item item = new Item(startDateTime, endDateTime);
         item.setTitle("new item");
         long milliseconds = Instant.now().toEpochMilli();
@@ -184,23 +832,103 @@ public class Timeline extends Div {
 
     public void setGroups(List<ItemGroup> groups) {
         this.itemGroups = new ArrayList<>(groups);
+        flushBatch();
         this.getElement()
-                .executeJs("vcftimeline.setGroups($0, $1)", this, "[" + convertGroupItemsToJson() + "]");
+                .executeJs("vcftimeline.setGroups($0, $1)", this, convertGroupItemsToJson());
     }
 
+    /**
+     * Replaces the items of the timeline. When the timeline is attached and every item has an id,
+     * only the differences with the items previously sent to the client are transferred and
+     * applied as add, update and remove batches, keeping the rendered items that did not change.
+     *
+     * @param items    the new items
+     * @param autoZoom whether the window is zoomed to show all the items once they are displayed
+     */
     public void setItems(List<Item> items, boolean autoZoom) {
-        this.items = new ArrayList<>(items);
-        this.getElement()
-                .executeJs("vcftimeline.setItems($0, $1, $2)", this, "[" + convertItemsToJson() + "]", autoZoom);
+        Set<String> previousIds = clientItemsState != null ? new HashSet<>(clientItemsState.keySet()) : null;
+        this.itemStore.setItems(items);
+        if (previousIds != null && items.stream().allMatch(item -> item.getId() != null)) {
+            items.forEach(item -> previousIds.remove(item.getId()));
+            sendItemChanges(items, previousIds);
+            if (autoZoom) {
+                this.getElement().executeJs("vcftimeline.fit($0)", this);
+            }
+        } else {
+            if (clientItemsState != null) {
+                clientItemsState.clear();
+            }
+            flushBatch();
+            this.getElement()
+                    .executeJs("vcftimeline.setItems($0, $1, $2)", this, encodeItemsForClient(), autoZoom);
+            sendSnapshotChanges();
+        }
+    }
+
+    /**
+     * Displays the items of a snapshot shared with other timelines. The timeline switches to a
+     * {@link SnapshotItemStore} if it uses another store, and its local changes are dropped. The
+     * items are sent to the client as the JSON cached by the snapshot, so it is built only once for
+     * all the timelines showing the same snapshot.
+     *
+     * @param snapshot the snapshot to display
+     */
+    public void setItemSnapshot(ItemSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Item snapshot cannot be null");
+        if (!(itemStore instanceof SnapshotItemStore)) {
+            setItemStore(new SnapshotItemStore());
+        }
+        ((SnapshotItemStore) itemStore).setSnapshot(snapshot);
+        if (clientItemsState != null) {
+            clientItemsState.clear();
+            flushBatch();
+            this.getElement()
+                    .executeJs("vcftimeline.setItems($0, $1, $2)", this, encodeItemsForClient(), false);
+        }
+    }
+
+    /**
+     * Returns the snapshot the items are read from, when the timeline uses a {@link
+     * SnapshotItemStore}.
+     *
+     * @return the snapshot or null
+     */
+    public ItemSnapshot getItemSnapshot() {
+        return itemStore instanceof SnapshotItemStore ? ((SnapshotItemStore) itemStore).getSnapshot() : null;
     }
 
     /**
-     * Return the list of items that are currently part of the timeline.
+     * Return the list of items that are currently part of the timeline. The list is read-only,
+     * items are added and removed with {@link #addItem(Item, boolean)} and {@link
+     * #removeItem(String)}.
      *
-     * @return the list of items of the timeline
+     * @return read-only list of the items of the timeline
      */
     public List<Item> getItems() {
-        return items;
+        return itemStore.getItems();
+    }
+
+    /**
+     * Returns the items overlapping the given range, ordered by start date.
+     *
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return the items overlapping the range
+     */
+    public List<Item> getItems(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return itemStore.findItems(rangeStart, rangeEnd);
+    }
+
+    /**
+     * Returns the items of a group overlapping the given range, ordered by start date.
+     *
+     * @param groupId    id of the group
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return the items of the group overlapping the range
+     */
+    public List<Item> getItems(String groupId, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return itemStore.findItems(groupId, rangeStart, rangeEnd);
     }
 
     /**
@@ -450,6 +1178,105 @@ public class Timeline extends Div {
         updateTimelineOptions();
     }
 
+    /**
+     * Sets the minimum time between two window range changes sent by the client. Changes happening
+     * in between are coalesced and only the last range is sent. By default, 100 milliseconds.
+     *
+     * @param throttle time in milliseconds, 0 for one per animation frame or null to send every
+     *                 change
+     */
+    public void setRangeChangedEventThrottle(Integer throttle) {
+        getTimelineOptions().rangeChangedEventThrottle = throttle;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets the minimum time between two selections sent by the client, e.g. while selecting items
+     * by dragging a rectangle. Only the last selection is sent. By default, one per animation frame.
+     *
+     * @param throttle time in milliseconds, 0 for one per animation frame or null to send every
+     *                 selection
+     */
+    public void setSelectEventThrottle(Integer throttle) {
+        getTimelineOptions().selectEventThrottle = throttle;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets the time during which items moved on the client are collected and sent together. By
+     * default, the items moved in the same animation frame, like the items of a multi-selection
+     * drag, are sent together.
+     *
+     * @param delay time in milliseconds, 0 for one animation frame or null to send every item
+     *              alone
+     */
+    public void setMoveEventDelay(Integer delay) {
+        getTimelineOptions().moveEventDelay = delay;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets whether group rendering is virtualized. When enabled, stacking and toggle buttons are
+     * only processed for the groups intersecting the viewport, which are found without reading the
+     * layout of the other groups. Recommended for timelines with thousands of groups. By default,
+     * every group is checked.
+     *
+     * @param virtualizeGroups true to only process the groups in the viewport
+     */
+    public void setVirtualizeGroups(boolean virtualizeGroups) {
+        getTimelineOptions().virtualizeGroups = virtualizeGroups;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets whether items are painted on a canvas instead of being rendered as one element each.
+     * Meant for dense read-only timelines: items are drawn in a single row per group, without
+     * stacking, showing their title as tooltip and still firing {@link ItemSelectEvent} on click.
+     * Ignored when the timeline is editable. It has to be set before the timeline is attached.
+     *
+     * @param canvasRendering true to paint the items on a canvas
+     */
+    public void setCanvasRendering(boolean canvasRendering) {
+        getTimelineOptions().canvasRendering = canvasRendering;
+    }
+
+    /**
+     * Sets whether the stacking of groups holding at least 100 items is computed in a web worker.
+     * The items of such a group keep their positions until the worker answers, so panning stays
+     * responsive while large groups are laid out again. Falls back to the main thread when
+     * workers cannot be created. Disabled by default.
+     *
+     * @param layoutInWorker true to stack large groups in a web worker
+     */
+    public void setLayoutInWorker(boolean layoutInWorker) {
+        getTimelineOptions().layoutInWorker = layoutInWorker;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets whether the group layout runs once per animation frame, right before painting, instead
+     * of after every change of the timeline. Several changes in the same frame, e.g. while
+     * panning, are then laid out once. Disabled by default.
+     *
+     * @param layoutOnAnimationFrame true to lay out the groups on animation frames
+     */
+    public void setLayoutOnAnimationFrame(boolean layoutOnAnimationFrame) {
+        getTimelineOptions().layoutOnAnimationFrame = layoutOnAnimationFrame;
+        updateTimelineOptions();
+    }
+
+    /**
+     * Sets whether the client records statistics of the group layout in the {@code layoutStats}
+     * property of the timeline element: the number of passes, of layout reads and writes, and of
+     * forced synchronous layouts, i.e. reads following a write of the same pass.
+     *
+     * @param debugLayout true to record layout statistics
+     */
+    public void setDebugLayout(boolean debugLayout) {
+        getTimelineOptions().debugLayout = debugLayout;
+        updateTimelineOptions();
+    }
+
     public void setVerticalScroll(boolean verticalScroll) {
         getTimelineOptions().verticalScroll = verticalScroll;
         updateTimelineOptions();
@@ -473,15 +1300,17 @@ public class Timeline extends Div {
      * @param newContent new item content
      */
     public void updateItemContent(String itemId, String newContent) {
-        this.getElement()
-                .executeJs("vcftimeline.updateItemContent($0, $1, $2)", this, itemId, newContent);
-        items.stream()
-                .filter(i -> itemId.equals(i.getId()))
-                .findFirst()
-                .ifPresent(
-                        item -> {
-                            item.setContent(newContent);
-                        });
+        if (batchOperations != null) {
+            addBatchOperation("content", itemId, newContent);
+        } else {
+            this.getElement()
+                    .executeJs("vcftimeline.updateItemContent($0, $1, $2)", this, itemId, newContent);
+        }
+        Item item = itemStore.edit(itemId);
+        if (item != null) {
+            item.setContent(newContent);
+            markItemSynced(item);
+        }
     }
 
     /**
@@ -490,15 +1319,18 @@ public class Timeline extends Div {
      * @param groupID
      */
     public void updateItemGroup(String itemId, String groupID) {
-        this.getElement()
-                .executeJs("vcftimeline.updateItemGroup($0, $1, $2)", this, itemId, groupID);
-        items.stream()
-                .filter(i -> itemId.equals(i.getId()))
-                .findFirst()
-                .ifPresent(
-                        item -> {
-                            item.setGroup(groupID);
-                        });
+        if (batchOperations != null) {
+            addBatchOperation("group", itemId, groupID);
+        } else {
+            this.getElement()
+                    .executeJs("vcftimeline.updateItemGroup($0, $1, $2)", this, itemId, groupID);
+        }
+        Item item = itemStore.edit(itemId);
+        if (item != null) {
+            item.setGroup(groupID);
+            itemStore.update(item);
+            markItemSynced(item);
+        }
     }
 
     /**
@@ -518,17 +1350,16 @@ public class Timeline extends Div {
         item.setId(eventData.getString("id"));
         item.setGroup(eventData.getString("group"));
         item.setTitle(eventData.getString("content"));
-        item.setStart(TimelineUtil.convertDateTimeFromString(eventData.getString("start")));
-        item.setEnd(TimelineUtil.convertDateTimeFromString(eventData.getString("end")));
+        item.setStart(toLocalDateTime(eventData, "start"));
+        item.setEnd(toLocalDateTime(eventData, "end"));
         item.setEditable(eventData.getBoolean("selectable"));
         if (eventData.hasKey("className"))
             item.setClassName(eventData.getString("className"));
 
-        for (Item oneItem : this.items) {
-            if (oneItem.getId().equals(item.getId())) {
-                oneItem.setTitle(item.getTitle());
-                break;
-            }
+        Item storedItem = itemStore.edit(item.getId());
+        if (storedItem != null) {
+            storedItem.setTitle(item.getTitle());
+            markItemSynced(storedItem);
         }
 
         this.fireItemUpdateTitle(item, true);
@@ -537,30 +1368,91 @@ public class Timeline extends Div {
 
     @ClientCallable
     public void updateWindowRangeChangedEvent(JsonObject eventData) {
-        this.fireWindowRangeChangedEvent(TimelineUtil.convertDateTimeFromString(eventData.getString("start")), TimelineUtil.convertDateTimeFromString(eventData.getString("end")), true);
+        LocalDateTime windowStart = toLocalDateTime(eventData, "start");
+        LocalDateTime windowEnd = toLocalDateTime(eventData, "end");
+        this.fireWindowRangeChangedEvent(windowStart, windowEnd, true);
+        if (itemsProvider != null) {
+            loadItemsForWindow(windowStart, windowEnd);
+        }
+        if (eventData.hasKey("width")) {
+            updateLevelOfDetail(windowStart, windowEnd, (int) eventData.getNumber("width"));
+        }
+    }
+
+    /**
+     * Sends to the client the time buckets overlapping the requested window. Unless the request
+     * sets a resolution, the finest one giving at least 10 pixels per bucket is used.
+     *
+     * Requests without a valid window, or without width nor known resolution, are ignored.
+     *
+     * @param request the window start and end, its width in pixels and an optional resolution
+     */
+    @ClientCallable
+    public void requestTimeBuckets(JsonObject request) {
+        LocalDateTime windowStart = toLocalDateTime(request, "start");
+        LocalDateTime windowEnd = toLocalDateTime(request, "end");
+        if (windowStart == null || windowEnd == null || windowEnd.isBefore(windowStart)) {
+            return;
+        }
+        TimeBucketIndex.Resolution resolution;
+        if (request.hasKey("resolution") && request.get("resolution").getType() == JsonType.STRING) {
+            try {
+                resolution = TimeBucketIndex.Resolution.valueOf(request.getString("resolution"));
+            } catch (IllegalArgumentException e) {
+                // unknown resolution, ignore the request
+                return;
+            }
+        } else if (request.hasKey("width") && request.get("width").getType() == JsonType.NUMBER) {
+            resolution = TimeBucketIndex.Resolution.forWindow(Duration.between(windowStart, windowEnd),
+                    Math.max(1, (int) request.getNumber("width") / 10));
+        } else {
+            return;
+        }
+
+        JsonArray bucketsJson = Json.createArray();
+        for (TimeBucket bucket : getTimeBucketIndex().find(resolution, windowStart, windowEnd)) {
+            bucketsJson.set(bucketsJson.length(), bucket.toJsonObject());
+        }
+        JsonObject response = Json.createObject();
+        response.put("resolution", resolution.name());
+        response.put("buckets", bucketsJson);
+        this.getElement().executeJs("vcftimeline.setTimeBuckets($0, $1)", this, response);
     }
 
     @ClientCallable
     public void expandCollapseGroup(String groupId, boolean isCollapse)
     {
         int index = 0;
-        for (Item item : items) {
+        List<Item> groupItems = new ArrayList<>();
+        for (Item item : itemStore.getItems()) {
            if(item.getGroup().equalsIgnoreCase(groupId)) {
                String currentStyle = StringUtils.isEmpty(item.getStyle()) ? "" : item.getStyle();
+               String newStyle = item.getStyle();
                if(index > 1 && isCollapse) {
                    if (!currentStyle.contains("display: none")) {
-                       item.setStyle(currentStyle + "display: none;");
+                       newStyle = currentStyle + "display: none;";
                    }
                } else {
                    // Remove any existing "display: none" style
-                   String newStyle = currentStyle.replaceAll("display: none;", "").trim();
+                   newStyle = currentStyle.replaceAll("display: none;", "").trim();
+               }
+               if (!Objects.equals(newStyle, item.getStyle())) {
+                   if (item.getId() != null) {
+                       item = itemStore.edit(item.getId());
+                   }
                    item.setStyle(newStyle);
                }
+               groupItems.add(item);
                index++;
            }
         }
-        this.getElement()
-                .executeJs("vcftimeline.setItems($0, $1, $2)", this, "[" + convertItemsToJson() + "]", true);
+        if (clientItemsState != null) {
+            sendItemChanges(groupItems, Collections.emptyList());
+        } else {
+            flushBatch();
+            this.getElement()
+                    .executeJs("vcftimeline.setItems($0, $1, $2)", this, encodeItemsForClient(), false);
+        }
     }
 
     /**
@@ -669,22 +1561,73 @@ public class Timeline extends Div {
     }
 
     /**
-     * Call from client when an item is moved (dragged and dropped or resized).
+     * Call from client with the items moved or resized together, each with its id, new start and
+     * end dates in local epoch milliseconds and whether it was resized. Resized items fire an {@link
+     * ItemResizeEvent} each, while all dragged items are handled together by {@link
+     * #handleItemsDragAndDrop(Map, boolean)}.
      *
-     * @param itemId       id of the moved item
-     * @param itemNewStart new start date of the moved item
-     * @param itemNewEnd   new end date of the moved item
-     * @param resizedItem  true if item was resized
+     * @param moves the moved items
      */
     @ClientCallable
-    public void onMove(String itemId, String itemNewStart, String itemNewEnd, boolean resizedItem) {
-        LocalDateTime newStart = TimelineUtil.convertLocalDateTime(itemNewStart);
-        LocalDateTime newEnd = TimelineUtil.convertLocalDateTime(itemNewEnd);
+    public void onMoveBatch(JsonArray moves) {
+        Map<String, Pair<LocalDateTime, LocalDateTime>> draggedItems = new LinkedHashMap<>();
+        for (int i = 0; i < moves.length(); i++) {
+            JsonObject move = moves.getObject(i);
+            String itemId = move.getString("id");
+            LocalDateTime newStart = toLocalDateTime(move, "start");
+            LocalDateTime newEnd = toLocalDateTime(move, "end");
+            if (move.getBoolean("resized")) {
+                fireItemResizeEvent(itemId, newStart, newEnd, true);
+            } else {
+                draggedItems.put(itemId, new Pair<>(newStart, newEnd));
+            }
+        }
+        if (!draggedItems.isEmpty()) {
+            handleItemsDragAndDrop(draggedItems, true);
+        }
+    }
 
-        if (resizedItem) {
-            fireItemResizeEvent(itemId, newStart, newEnd, true);
-        } else {
-            handleDragAndDrop(itemId, newStart, newEnd, true);
+    /**
+     * Handles items moved together by drag and drop. The items are updated with their new range and
+     * a single {@link ItemsDragAndDropEvent} is fired. If the event is cancelled, all items get
+     * their original range back, reverted on the client in a single call.
+     *
+     * @param newRanges  new start and end dates of every moved item, by item id
+     * @param fromClient if event comes from client
+     */
+    protected void handleItemsDragAndDrop(Map<String, Pair<LocalDateTime, LocalDateTime>> newRanges,
+                                          boolean fromClient) {
+        Map<Item, Pair<LocalDateTime, LocalDateTime>> oldRanges = new LinkedHashMap<>();
+        for (Map.Entry<String, Pair<LocalDateTime, LocalDateTime>> newRange : newRanges.entrySet()) {
+            Item item = itemStore.edit(newRange.getKey());
+            if (item != null) {
+                oldRanges.put(item, new Pair<>(item.getStart(), item.getEnd()));
+                updateItemRange(item, newRange.getValue().getFirst(), newRange.getValue().getSecond());
+            }
+        }
+
+        ItemsDragAndDropEvent event = new ItemsDragAndDropEvent(this, new ArrayList<>(oldRanges.keySet()), fromClient);
+        RuntimeException exception = null;
+        try {
+            fireEvent(event);
+        } catch (RuntimeException e) {
+            exception = e;
+            event.setCancelled(true);
+        }
+
+        if (event.isCancelled()) {
+            JsonArray revertedItems = Json.createArray();
+            oldRanges.forEach((item, oldRange) -> {
+                item.setStart(oldRange.getFirst());
+                item.setEnd(oldRange.getSecond());
+                itemStore.update(item);
+                revertedItems.set(revertedItems.length(), toClientJson(item));
+            });
+            flushBatch();
+            this.getElement().executeJs("vcftimeline.revertMoves($0, $1)", this, revertedItems);
+            if (exception != null) {
+                throw exception;
+            }
         }
     }
 
@@ -721,113 +1664,37 @@ public class Timeline extends Div {
         }
     }
 
-    /**
-     * Handle item moved by drag and drop.
-     *
-     * @param itemId     id of the item that was moved
-     * @param newStart   new start date for the item
-     * @param newEnd     new end date for the item
-     * @param fromClient if event comes from client
-     */
-    protected void handleDragAndDrop(String itemId, LocalDateTime newStart, LocalDateTime newEnd, boolean fromClient) {
-        // save current moved item - itemId - new start and new end
-        movedItemsMap.put(itemId, new Pair<>(newStart, newEnd));
-        // save original start and end for the moved item
-        Optional<Item> optionalItem = items.stream()
-                .filter(i -> itemId.equals(i.getId()))
-                .findFirst();
-
-        if (optionalItem.isPresent()) {
-            Item movedItem = optionalItem.get();
-            movedItemsOldValuesMap.put(itemId, new Pair<>(movedItem.getStart(), movedItem.getEnd()));
-            // Continue processing with movedItem
-        }
-        // if all selected items have been processed
-        if (selectedItemsIdsList.size() == movedItemsMap.size()) {
-            // update items with new start and end range values
-            updateMovedItemsRange();
-            List<Item> updatedItems = items.stream()
-                    .filter(item -> movedItemsMap.keySet().contains(item.getId())).collect(Collectors.toList());
-            ItemsDragAndDropEvent event = new ItemsDragAndDropEvent(this, updatedItems, fromClient);
-            RuntimeException exception = null;
-
-            try {
-                fireEvent(event);
-            } catch (RuntimeException e) {
-                exception = e;
-                event.setCancelled(true);
-            }
-
-            if (event.isCancelled()) {
-                // if move is cancelled, revert move for all dragged items
-                revertMovedItemsRange();
-                movedItemsMap.clear();
-                movedItemsOldValuesMap.clear();
-                // if exception was catch, re-throw the exception for error handling
-                if (exception != null) {
-                    throw exception;
-                }
-            } else {
-                // if move not cancelled, keep updated values
-                movedItemsMap.clear();
-                movedItemsOldValuesMap.clear();
-            }
-        }
-    }
-
-    private void revertMovedItemsRange() {
-        for (String itemId : movedItemsOldValuesMap.keySet()) {
-            items.stream().filter(i -> itemId.equals(i.getId())).findFirst().ifPresent(item -> {
-                item.setStart(movedItemsOldValuesMap.get(itemId).getFirst());
-                item.setEnd(movedItemsOldValuesMap.get(itemId).getSecond());
-            });
-        }
-
-        for (String itemId : movedItemsOldValuesMap.keySet()) {
-            revertMove(itemId);
-        }
-    }
-
     public void revertMove(String itemId, LocalDateTime startDate, LocalDateTime endDate) {
-        Item item =
-                items.stream()
-                        .filter(i -> itemId.equals(i.getId()))
-                        .findFirst()
-                        .orElse(null);
+        Item item = itemStore.edit(itemId);
         if (item != null) {
             item.setStart(startDate);
             item.setEnd(endDate);
+            itemStore.update(item);
             revertMove(itemId);
         }
     }
 
     private void revertMove(String itemId) {
-        Item item =
-                items.stream()
-                        .filter(i -> itemId.equals(i.getId()))
-                        .findFirst()
-                        .orElse(null);
+        Item item = itemStore.get(itemId);
         if (item != null) {
+            flushBatch();
             this.getElement()
-                    .executeJs("vcftimeline.revertMove($0, $1, $2)", this, itemId, item.toJSON());
+                    .executeJs("vcftimeline.revertMove($0, $1, $2)", this, itemId, toClientJson(item));
         }
     }
 
-    private void updateMovedItemsRange() {
-        for (String itemId : movedItemsMap.keySet()) {
-            updateItemRange(itemId, movedItemsMap.get(itemId).getFirst(), movedItemsMap.get(itemId).getSecond());
+    private void updateItemRange(String itemId, LocalDateTime newStart, LocalDateTime newEnd) {
+        Item item = itemStore.edit(itemId);
+        if (item != null) {
+            updateItemRange(item, newStart, newEnd);
         }
     }
 
-    private void updateItemRange(String itemId, LocalDateTime newStart, LocalDateTime newEnd) {
-        items.stream()
-                .filter(i -> itemId.equals(i.getId()))
-                .findFirst()
-                .ifPresent(
-                        item -> {
-                            item.setStart(newStart);
-                            item.setEnd(newEnd);
-                        });
+    private void updateItemRange(Item item, LocalDateTime newStart, LocalDateTime newEnd) {
+        item.setStart(newStart);
+        item.setEnd(newEnd);
+        itemStore.update(item);
+        markItemSynced(item);
     }
 
     /**
@@ -877,11 +1744,19 @@ public class Timeline extends Div {
      * @param item item to be removed.
      */
     public void removeItem(Item item) {
-        this.getElement().executeJs("vcftimeline.removeItem($0, $1)", this, item.getId());
+        removeItem(item.getId());
     }
 
     public void removeItem(String itemId) {
-        this.getElement().executeJs("vcftimeline.removeItem($0, $1)", this, itemId);
+        itemStore.remove(itemId);
+        if (clientItemsState != null) {
+            clientItemsState.remove(itemId);
+        }
+        if (batchOperations != null) {
+            addBatchOperation("remove", itemId);
+        } else {
+            this.getElement().executeJs("vcftimeline.removeItem($0, $1)", this, itemId);
+        }
     }
 
     /**
@@ -903,7 +1778,10 @@ public class Timeline extends Div {
     public void fireItemRemoveEvent(String itemId, boolean fromClient) {
         ItemRemoveEvent event = new ItemRemoveEvent(this, itemId, fromClient);
         // update items list
-        items.removeIf(item -> itemId.equals(item.getId()));
+        itemStore.remove(itemId);
+        if (clientItemsState != null) {
+            clientItemsState.remove(itemId);
+        }
         fireEvent(event);
     }
 
@@ -923,8 +1801,6 @@ public class Timeline extends Div {
      */
     @ClientCallable
     public void onSelect(String selectedItemsIds) {
-        selectedItemsIdsList.clear();
-        selectedItemsIdsList.addAll(Arrays.asList(selectedItemsIds.split(",")));
         fireItemSelectEvent(selectedItemsIds, LocalDateTime.now(), LocalDateTime.now(), true);
     }
 
@@ -970,10 +1846,8 @@ public class Timeline extends Div {
     }
 
     public void onSetHighlightRange(Timeline container, LocalDateTime start, LocalDateTime end) {
-        Instant instant = start.atZone(ZoneId.systemDefault()).toInstant();
-        long startStamp = instant.toEpochMilli();
-        instant = end.atZone(ZoneId.systemDefault()).toInstant();
-        long endStamp = instant.toEpochMilli();
+        long startStamp = CompactItemsEncoder.toLocalEpochMillis(start);
+        long endStamp = CompactItemsEncoder.toLocalEpochMillis(end);
         this.getElement()
                 .executeJs(
                         "vcftimeline.setHighlightRange($0, $1, $2)",
@@ -0,0 +1,102 @@
+package com.vaadin.componentfactory.timeline;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.util.Collection;
+
+/**
+ * Mutations of a {@link Timeline} grouped by {@link Timeline#batch(java.util.function.Consumer)}.
+ * <p>
+ * Every mutation is applied to the server side state right away, like the equivalent method of
+ * the timeline, while the client side changes are accumulated and sent in one call once the batch
+ * ends.
+ */
+public class TimelineBatch {
+
+    private final Timeline timeline;
+
+    TimelineBatch(Timeline timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * Adds an item to the timeline.
+     *
+     * @param item the item to add
+     * @return this batch
+     * @see Timeline#addItem(Item, boolean)
+     */
+    public TimelineBatch addItem(Item item) {
+        timeline.addItem(item, false);
+        return this;
+    }
+
+    /**
+     * Adds items to the timeline.
+     *
+     * @param items the items to add
+     * @return this batch
+     */
+    public TimelineBatch addItems(Collection<Item> items) {
+        items.forEach(this::addItem);
+        return this;
+    }
+
+    /**
+     * Removes an item from the timeline.
+     *
+     * @param itemId id of the item to remove
+     * @return this batch
+     * @see Timeline#removeItem(String)
+     */
+    public TimelineBatch removeItem(String itemId) {
+        timeline.removeItem(itemId);
+        return this;
+    }
+
+    /**
+     * Updates the content of an item.
+     *
+     * @param itemId     id of the item
+     * @param newContent new content of the item
+     * @return this batch
+     * @see Timeline#updateItemContent(String, String)
+     */
+    public TimelineBatch updateItemContent(String itemId, String newContent) {
+        timeline.updateItemContent(itemId, newContent);
+        return this;
+    }
+
+    /**
+     * Moves an item to another group.
+     *
+     * @param itemId  id of the item
+     * @param groupId id of the new group
+     * @return this batch
+     * @see Timeline#updateItemGroup(String, String)
+     */
+    public TimelineBatch updateItemGroup(String itemId, String groupId) {
+        timeline.updateItemGroup(itemId, groupId);
+        return this;
+    }
+}
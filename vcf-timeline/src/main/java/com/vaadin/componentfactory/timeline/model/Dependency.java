@@ -0,0 +1,126 @@
+package com.vaadin.componentfactory.timeline.model;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * Representation of a dependency between two items of a timeline, drawn as a connector going from
+ * the end of the first item to the start of the second one.
+ */
+public class Dependency {
+
+    private String id;
+
+    private String fromItemId;
+
+    private String toItemId;
+
+    private String title;
+
+    public Dependency() {
+    }
+
+    public Dependency(String id, String fromItemId, String toItemId) {
+        this.setId(id);
+        this.setFromItemId(fromItemId);
+        this.setToItemId(toItemId);
+    }
+
+    public Dependency(String id, String fromItemId, String toItemId, String title) {
+        this(id, fromItemId, toItemId);
+        this.setTitle(title);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the id of the predecessor item, the one that has to finish first.
+     *
+     * @return id of the predecessor item
+     */
+    public String getFromItemId() {
+        return fromItemId;
+    }
+
+    public void setFromItemId(String fromItemId) {
+        this.fromItemId = fromItemId;
+    }
+
+    /**
+     * Returns the id of the successor item, the one that starts after the predecessor.
+     *
+     * @return id of the successor item
+     */
+    public String getToItemId() {
+        return toItemId;
+    }
+
+    public void setToItemId(String toItemId) {
+        this.toItemId = toItemId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+        Dependency other = (Dependency) obj;
+        return Objects.equals(id, other.id);
+    }
+
+    /**
+     * Builds the JSON representation of the dependency sent to the client.
+     *
+     * @return the dependency as a JSON object
+     */
+    public JsonObject toJsonObject() {
+        JsonObject js = Json.createObject();
+        js.put("id", getId());
+        js.put("id_item_1", getFromItemId());
+        js.put("id_item_2", getToItemId());
+        if (getTitle() != null) js.put("title", getTitle());
+        return js;
+    }
+}
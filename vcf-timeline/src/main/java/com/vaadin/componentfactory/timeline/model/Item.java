@@ -24,7 +24,6 @@ import elemental.json.Json;
 import elemental.json.JsonObject;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Optional;
 
 /** Representation of a timeline item. */
 public class Item {
@@ -78,6 +77,27 @@ public class Item {
     this.setContent("item10000");
   }
 
+  /**
+   * Creates a detached copy of another item.
+   *
+   * @param other the item to copy
+   */
+  public Item(Item other) {
+    this.setId(other.getId());
+    this.setStart(other.getStart());
+    this.setEnd(other.getEnd());
+    this.setContent(other.getContent());
+    this.setEditable(other.getEditable());
+    this.setUpdateTime(other.getUpdateTime());
+    this.setRemove(other.getRemove());
+    this.setTitle(other.getTitle());
+    this.setClassName(other.getClassName());
+    this.setGroup(other.getGroup());
+    this.setStyle(other.getStyle());
+    this.setSubgroup(other.getSubgroup(), other.getSubgroupOrder());
+    this.setSelectable(other.getSelectable());
+  }
+
   public String getId() {
     return id;
   }
@@ -183,52 +203,61 @@ public class Item {
   }
 
   public void setSubgroup(String subgroup, int subgroupOrder) {
-    this.subgroup = subgroup;
-    this.subgroupOrder = subgroupOrder;
+    setSubgroup(subgroup);
+    setSubgroupOrder(subgroupOrder);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Objects.hash(getId());
   }
 
   @Override
   public boolean equals(Object obj) {
     if (this == obj) return true;
     if (obj == null) return false;
-    if (getClass() != obj.getClass()) return false;
+    if (!(obj instanceof Item)) return false;
     Item other = (Item) obj;
-    return Objects.equals(id, other.id);
+    return Objects.equals(getId(), other.getId());
   }
 
   public String toJSON() {
+    return toJsonObject().toJson();
+  }
+
+  /**
+   * Builds the JSON representation of the item sent to the client. Use this rather than {@link
+   * #toJSON()} when the item is part of a bigger payload, so the JSON is encoded only once.
+   *
+   * @return the item as a JSON object
+   */
+  public JsonObject toJsonObject() {
     JsonObject js = Json.createObject();
-    Optional.ofNullable(getId()).ifPresent(v -> js.put("id", v));
-    Optional.ofNullable(getContent()).ifPresent(v -> js.put("content", v));
-    Optional.ofNullable(getStart()).ifPresent(v -> js.put("start", v.toString()));
-    Optional.ofNullable(getEnd()).ifPresent(v -> js.put("end", v.toString()));
-    Optional.ofNullable(getGroup()).ifPresent(v -> js.put("group", v));
-    Optional.ofNullable(getSubgroup()).ifPresent(v -> js.put("subgroup", v));
-    Optional.ofNullable(getSelectable()).ifPresent(v -> js.put("selectable", v));
-    Optional.of(getSubgroupOrder()).ifPresent(v -> js.put("subgroupOrder", v));
-
-    Optional.ofNullable(getEditable())
-        .ifPresent(
-            v -> {
-              if (v && (getUpdateTime() != null || getRemove() != null)) {
-                JsonObject optionsJs = Json.createObject();
-                Optional.ofNullable(getUpdateTime()).ifPresent(u -> optionsJs.put("updateTime", u));
-                Optional.ofNullable(getRemove()).ifPresent(r -> optionsJs.put("remove", r));
-                js.put("editable", optionsJs);
-              } else {
-                js.put("editable", v);
-              }
-            });
-
-    Optional.ofNullable(getTitle()).ifPresent(v -> js.put("title", v));
-    Optional.ofNullable(getClassName()).ifPresent(v -> js.put("className", v));
-    Optional.ofNullable(getStyle()).ifPresent(v -> js.put("style", v));
-    return js.toJson();
+    if (getId() != null) js.put("id", getId());
+    if (getContent() != null) js.put("content", getContent());
+    if (getStart() != null) js.put("start", getStart().toString());
+    if (getEnd() != null) js.put("end", getEnd().toString());
+    if (getGroup() != null) js.put("group", getGroup());
+    if (getSubgroup() != null) js.put("subgroup", getSubgroup());
+    if (getSelectable() != null) js.put("selectable", getSelectable());
+    js.put("subgroupOrder", getSubgroupOrder());
+
+    Boolean editable = getEditable();
+    if (editable != null) {
+      if (editable && (getUpdateTime() != null || getRemove() != null)) {
+        JsonObject optionsJs = Json.createObject();
+        if (getUpdateTime() != null) optionsJs.put("updateTime", getUpdateTime());
+        if (getRemove() != null) optionsJs.put("remove", getRemove());
+        js.put("editable", optionsJs);
+      } else {
+        js.put("editable", editable);
+      }
+    }
+
+    if (getTitle() != null) js.put("title", getTitle());
+    if (getClassName() != null) js.put("className", getClassName());
+    if (getStyle() != null) js.put("style", getStyle());
+    return js;
   }
 
   public int getSubgroupOrder() {
@@ -28,7 +28,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Representation of a timeline item.
@@ -168,22 +167,31 @@ public class ItemGroup {
     }
 
     public String toJSON() {
+        return toJsonObject().toJson();
+    }
+
+    /**
+     * Builds the JSON representation of the group sent to the client.
+     *
+     * @return the group as a JSON object
+     */
+    public JsonObject toJsonObject() {
         JsonObject js = Json.createObject();
-        Optional.of(getGroupId()).ifPresent(v -> js.put("groupId", v));
-        Optional.ofNullable(getContent()).ifPresent(v -> js.put("content", v));
-        Optional.of(getTreeLevel()).ifPresent(v -> js.put("treeLevel", v));
-        Optional.ofNullable(getNestedGroups()).ifPresent(v -> js.put("nestedGroups", v));
-        Optional.of(isVisible()).ifPresent(v -> js.put("visible", v));
-        Optional.of(isSubgroupStack()).ifPresent(v -> js.put("groupSubgroupStack", v));
+        js.put("groupId", getGroupId());
+        if (getContent() != null) js.put("content", getContent());
+        js.put("treeLevel", getTreeLevel());
+        if (getNestedGroups() != null) js.put("nestedGroups", getNestedGroups());
+        js.put("visible", isVisible());
+        js.put("groupSubgroupStack", isSubgroupStack());
         if (!getSubgroupStackMap().isEmpty()) {
             JsonObject subgroupStackBuilder = Json.createObject();
             getSubgroupStackMap().forEach(subgroupStackBuilder::put); // adds each entry in the map to the builder
             js.put("subgroupStack", subgroupStackBuilder);
             js.put("subgroupOrder", StringUtils.isEmpty(getSubgroupOrder()) ? SUBGROUP_ORDER_FUNCTION : getSubgroupOrder());
         }
-        Optional.ofNullable(getClassName()).ifPresent(v -> js.put("className", v));
+        if (getClassName() != null) js.put("className", getClassName());
 
-        return js.toJson();
+        return js;
     }
 
     public boolean isItemsSelected() {
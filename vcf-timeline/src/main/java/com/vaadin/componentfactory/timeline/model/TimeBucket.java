@@ -0,0 +1,92 @@
+package com.vaadin.componentfactory.timeline.model;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate of the items of a group starting in a time bucket: how many they are and their
+ * shortest and longest durations.
+ */
+public class TimeBucket {
+
+    private final String group;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    private final int count;
+
+    private final Duration minDuration;
+
+    private final Duration maxDuration;
+
+    public TimeBucket(String group, LocalDateTime start, LocalDateTime end, int count,
+                      Duration minDuration, Duration maxDuration) {
+        this.group = group;
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Duration getMinDuration() {
+        return minDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public JsonObject toJsonObject() {
+        JsonObject js = Json.createObject();
+        if (getGroup() != null) js.put("group", getGroup());
+        js.put("start", getStart().toString());
+        js.put("end", getEnd().toString());
+        js.put("count", getCount());
+        js.put("minDuration", getMinDuration().toMillis());
+        js.put("maxDuration", getMaxDuration().toMillis());
+        return js;
+    }
+}
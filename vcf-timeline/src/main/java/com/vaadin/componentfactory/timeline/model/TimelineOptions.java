@@ -86,6 +86,23 @@ public class TimelineOptions {
 
   public boolean stackSubgroups = false;
 
+  /* If true, only the groups intersecting the viewport are processed when the timeline is redrawn,
+   * found from a table of the group offsets instead of reading the layout of every group. */
+  public boolean virtualizeGroups = false;
+
+  /* If true and the timeline is not editable, items are painted on a canvas instead of being
+   * rendered as one element each. Only read when the timeline is created. */
+  public boolean canvasRendering = false;
+
+  /* If true, the stacking of large groups is computed in a web worker instead of the main thread. */
+  public boolean layoutInWorker = false;
+
+  /* If true, the groups are laid out once per animation frame instead of on every change. */
+  public boolean layoutOnAnimationFrame = false;
+
+  /* If true, the client counts the layout reads and writes of the group layout in container.layoutStats. */
+  public boolean debugLayout = false;
+
   /* The initial start date for the axis of the timeline.
    * If not provided, the earliest date present in the events is taken as start date. */
   public LocalDateTime start;
@@ -123,6 +140,18 @@ public class TimelineOptions {
   
   public String tooltipOnItemUpdateTimeTemplate;
 
+  /* Minimum time in milliseconds between two window range changes sent to the server, only the
+   * last range is sent. 0 sends at most one per animation frame, null sends every change. */
+  public Integer rangeChangedEventThrottle = 100;
+
+  /* Minimum time in milliseconds between two selections sent to the server, only the last
+   * selection is sent. 0 sends at most one per animation frame, null sends every selection. */
+  public Integer selectEventThrottle = 0;
+
+  /* Time in milliseconds during which moved items are collected and sent to the server together.
+   * 0 sends the items moved in the same animation frame together, null sends every item alone. */
+  public Integer moveEventDelay = 0;
+
   public String toJSON() {
     JsonObject js = Json.createObject();
     Optional.ofNullable(min).ifPresent(v -> js.put("min", v.toString()));
@@ -156,6 +185,11 @@ public class TimelineOptions {
     Optional.ofNullable(maxHeight).ifPresent(v -> js.put("maxHeight", v));
     js.put("stack", stack);
     js.put("stackSubgroups", stackSubgroups);
+    js.put("virtualizeGroups", virtualizeGroups);
+    js.put("canvasRendering", canvasRendering);
+    js.put("layoutInWorker", layoutInWorker);
+    js.put("layoutOnAnimationFrame", layoutOnAnimationFrame);
+    js.put("debugLayout", debugLayout);
     Optional.ofNullable(start).ifPresent(v -> js.put("start", v.toString()));
     Optional.ofNullable(end).ifPresent(v -> js.put("end", v.toString()));
     js.put("multiselect", multiselect);
@@ -167,6 +201,9 @@ public class TimelineOptions {
     js.put("tooltipOnItemUpdateTime", tooltipOnItemUpdateTime);
     Optional.ofNullable(tooltipOnItemUpdateTimeDateFormat).ifPresent(v -> js.put("tooltipOnItemUpdateTimeDateFormat", v.toString()));
     Optional.ofNullable(tooltipOnItemUpdateTimeTemplate).ifPresent(v -> js.put("tooltipOnItemUpdateTimeTemplate", v.toString()));
+    Optional.ofNullable(rangeChangedEventThrottle).ifPresent(v -> js.put("rangeChangedEventThrottle", v));
+    Optional.ofNullable(selectEventThrottle).ifPresent(v -> js.put("selectEventThrottle", v));
+    Optional.ofNullable(moveEventDelay).ifPresent(v -> js.put("moveEventDelay", v));
 
     return js.toJson();
   }
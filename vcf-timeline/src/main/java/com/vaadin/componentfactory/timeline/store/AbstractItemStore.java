@@ -0,0 +1,69 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.flow.shared.Registration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of the {@link ItemStore} implementations notifying {@link ItemStoreListener}s.
+ * Implementations call the {@code fire} methods after every change of their content.
+ */
+public abstract class AbstractItemStore implements ItemStore {
+
+    private final List<ItemStoreListener> listeners = new ArrayList<>();
+
+    @Override
+    public Registration addItemStoreListener(ItemStoreListener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Returns whether any listener is registered, so implementations can skip building the items
+     * passed to the {@code fire} methods.
+     *
+     * @return true if at least one listener is registered
+     */
+    protected boolean hasItemStoreListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected void fireItemAdded(Item item) {
+        listeners.forEach(listener -> listener.itemAdded(item));
+    }
+
+    protected void fireItemRemoved(Item item) {
+        listeners.forEach(listener -> listener.itemRemoved(item));
+    }
+
+    protected void fireItemUpdated(Item item) {
+        listeners.forEach(listener -> listener.itemUpdated(item));
+    }
+
+    protected void fireStoreCleared() {
+        listeners.forEach(ItemStoreListener::storeCleared);
+    }
+}
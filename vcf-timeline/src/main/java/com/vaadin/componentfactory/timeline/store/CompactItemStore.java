@@ -0,0 +1,935 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.util.CompactItemsEncoder;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ItemStore} keeping the items in primitive columns instead of one {@link Item} object per
+ * item, for timelines holding millions of items.
+ * <p>
+ * Start and end dates are stored as epoch millis of the local date time read as UTC in {@code
+ * long} arrays, group, class name, subgroup and style are interned in a dictionary and stored as
+ * {@code int} codes, and the Boolean flags are packed in a {@link BitSet}. Dictionary values are
+ * kept until the store is cleared.
+ * <p>
+ * Stored items are returned as flyweight views reading and writing the columns: changes made
+ * through the setters of a returned item are applied to the store, and {@link #update(Item)} must
+ * still be called after the start, end or group changed. Items passed to {@link #add(Item)} are
+ * copied, later changes to them are only picked up by {@link #update(Item)}. A view is detached
+ * from the store and keeps its last values once its item is removed or the store is cleared.
+ * Views are created on demand and only weakly referenced by the store, so a row costs no object
+ * once its view is no longer used, and the same view is returned as long as it is.
+ * <p>
+ * Every item must have an id. Range queries use a permutation of the items sorted by start date,
+ * rebuilt on the first query following an addition or a removal. An item whose start changed is
+ * moved to its new place in the permutation by {@link #update(Item)} instead.
+ */
+public class CompactItemStore extends AbstractItemStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int NO_VALUE = -1;
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    /* Every item uses two bits per Boolean flag in the flags bitset: has value, then value. */
+    private static final int FLAG_BITS = 8;
+    private static final int EDITABLE = 0;
+    private static final int UPDATE_TIME = 2;
+    private static final int REMOVE = 4;
+    private static final int SELECTABLE = 6;
+
+    private int rowCount;
+
+    private int removedCount;
+
+    private int modCount;
+
+    private String[] ids;
+    private long[] starts;
+    private long[] ends;
+    /* Sub-millisecond part of the dates, allocated when the first such date is stored. */
+    private int[] startNanos;
+    private int[] endNanos;
+    private String[] contents;
+    private String[] titles;
+    private int[] groups;
+    private int[] classNames;
+    private int[] styles;
+    private int[] subgroups;
+    private int[] subgroupOrders;
+    private ViewReference[] views;
+
+    private final ReferenceQueue<ItemView> collectedViews = new ReferenceQueue<>();
+
+    private final BitSet flags = new BitSet();
+
+    private final BitSet removedRows = new BitSet();
+
+    private final Dictionary dictionary = new Dictionary();
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+
+    /* Indexed rows sorted by start date then row, null when it must be rebuilt. */
+    private int[] rowsByStart;
+
+    /* Index of every row in rowsByStart, -1 for rows without start. */
+    private int[] sortedPositions;
+
+    /* Upper bound of the durations of the rows, valid with rowsByStart. */
+    private long longestDuration;
+
+    public CompactItemStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public CompactItemStore(Collection<Item> items) {
+        this();
+        setItems(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the item has no id
+     */
+    @Override
+    public void add(Item item) {
+        if (item.getId() == null) {
+            throw new IllegalArgumentException("Items of a CompactItemStore must have an id");
+        }
+        Integer existing = rowsById.get(item.getId());
+        if (existing != null) {
+            if (hasItemStoreListeners()) {
+                fireItemRemoved(view(existing));
+            }
+            write(existing, item);
+            reposition(existing);
+            if (hasItemStoreListeners()) {
+                fireItemAdded(view(existing));
+            }
+            return;
+        }
+        if (rowCount == ids.length) {
+            allocate(ids.length + (ids.length >> 1));
+        }
+        int row = rowCount++;
+        ids[row] = item.getId();
+        rowsById.put(item.getId(), row);
+        write(row, item);
+        modCount++;
+        rowsByStart = null;
+        if (hasItemStoreListeners()) {
+            fireItemAdded(view(row));
+        }
+    }
+
+    @Override
+    public void setItems(Collection<Item> items) {
+        List<Item> newItems = items != null ? new ArrayList<>(items) : Collections.emptyList();
+        clear();
+        newItems.forEach(this::add);
+    }
+
+    @Override
+    public Item remove(String itemId) {
+        Integer row = itemId != null ? rowsById.remove(itemId) : null;
+        if (row == null) {
+            return null;
+        }
+        ItemView item = view(row);
+        item.detach();
+        ids[row] = null;
+        contents[row] = null;
+        titles[row] = null;
+        views[row] = null;
+        removedRows.set(row);
+        removedCount++;
+        modCount++;
+        rowsByStart = null;
+        if (removedCount > rowCount / 2) {
+            compact();
+        }
+        fireItemRemoved(item);
+        return item;
+    }
+
+    @Override
+    public Item get(String itemId) {
+        Integer row = itemId != null ? rowsById.get(itemId) : null;
+        return row != null ? view(row) : null;
+    }
+
+    @Override
+    public boolean contains(String itemId) {
+        return itemId != null && rowsById.containsKey(itemId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the item is not a view of this store, its values are copied to the stored item with
+     * the same id.
+     */
+    @Override
+    public void update(Item item) {
+        Integer row = item.getId() != null ? rowsById.get(item.getId()) : null;
+        if (row == null) {
+            return;
+        }
+        if (!isViewOf(item, row)) {
+            write(row, item);
+        }
+        reposition(row);
+        if (hasItemStoreListeners()) {
+            fireItemUpdated(view(row));
+        }
+    }
+
+    @Override
+    public List<Item> findItems(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        int groupCode = group != null ? dictionary.find(group) : NO_VALUE;
+        if (rangeEnd.isBefore(rangeStart) || group != null && groupCode == NO_VALUE) {
+            return Collections.emptyList();
+        }
+        int[] sorted = sortedRows();
+        long rangeStartMillis = toRangeMillis(rangeStart);
+        long rangeEndMillis = toRangeMillis(rangeEnd);
+        long lowestStart = rangeStartMillis >= NO_DATE + longestDuration + 1
+                ? rangeStartMillis - longestDuration - 1 : NO_DATE + 1;
+        List<Item> result = new ArrayList<>();
+        for (int i = lowerBound(sorted, lowestStart); i < sorted.length; i++) {
+            int row = sorted[i];
+            if (starts[row] > rangeEndMillis) {
+                break;
+            }
+            if (group != null && groups[row] != groupCode
+                    || compare(starts[row], nanos(startNanos, row), rangeEndMillis, nanosOf(rangeEnd)) > 0) {
+                continue;
+            }
+            boolean point = ends[row] == NO_DATE || compareDates(row) < 0;
+            long endMillis = point ? starts[row] : ends[row];
+            int endNanosValue = point ? nanos(startNanos, row) : nanos(endNanos, row);
+            if (compare(endMillis, endNanosValue, rangeStartMillis, nanosOf(rangeStart)) >= 0) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Item> getItems() {
+        if (removedCount > 0) {
+            compact();
+        }
+        return new RowList();
+    }
+
+    @Override
+    public int size() {
+        return rowCount - removedCount;
+    }
+
+    @Override
+    public void clear() {
+        for (int row = 0; row < rowCount; row++) {
+            ItemView view = views[row] != null ? views[row].get() : null;
+            if (view != null) {
+                view.detach();
+            }
+        }
+        rowCount = 0;
+        removedCount = 0;
+        modCount++;
+        flags.clear();
+        removedRows.clear();
+        dictionary.clear();
+        rowsById.clear();
+        rowsByStart = null;
+        startNanos = null;
+        endNanos = null;
+        allocate(INITIAL_CAPACITY);
+        fireStoreCleared();
+    }
+
+    private void allocate(int capacity) {
+        ids = ids != null && rowCount > 0 ? Arrays.copyOf(ids, capacity) : new String[capacity];
+        starts = copyOf(starts, capacity);
+        ends = copyOf(ends, capacity);
+        startNanos = startNanos != null ? Arrays.copyOf(startNanos, capacity) : null;
+        endNanos = endNanos != null ? Arrays.copyOf(endNanos, capacity) : null;
+        contents = contents != null && rowCount > 0 ? Arrays.copyOf(contents, capacity) : new String[capacity];
+        titles = titles != null && rowCount > 0 ? Arrays.copyOf(titles, capacity) : new String[capacity];
+        groups = copyOf(groups, capacity);
+        classNames = copyOf(classNames, capacity);
+        styles = copyOf(styles, capacity);
+        subgroups = copyOf(subgroups, capacity);
+        subgroupOrders = subgroupOrders != null && rowCount > 0 ? Arrays.copyOf(subgroupOrders, capacity) : new int[capacity];
+        views = views != null && rowCount > 0 ? Arrays.copyOf(views, capacity) : new ViewReference[capacity];
+    }
+
+    private long[] copyOf(long[] column, int capacity) {
+        return column != null && rowCount > 0 ? Arrays.copyOf(column, capacity) : new long[capacity];
+    }
+
+    private int[] copyOf(int[] column, int capacity) {
+        return column != null && rowCount > 0 ? Arrays.copyOf(column, capacity) : new int[capacity];
+    }
+
+    /** Moves the remaining rows over the removed ones, keeping their order. */
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (removedRows.get(row)) {
+                continue;
+            }
+            if (row != target) {
+                moveRow(row, target);
+            }
+            target++;
+        }
+        for (int row = target; row < rowCount; row++) {
+            ids[row] = null;
+            contents[row] = null;
+            titles[row] = null;
+            views[row] = null;
+        }
+        flags.clear(target * FLAG_BITS, rowCount * FLAG_BITS);
+        removedRows.clear();
+        rowCount = target;
+        removedCount = 0;
+        rowsByStart = null;
+    }
+
+    private void moveRow(int from, int to) {
+        ids[to] = ids[from];
+        starts[to] = starts[from];
+        ends[to] = ends[from];
+        if (startNanos != null) {
+            startNanos[to] = startNanos[from];
+        }
+        if (endNanos != null) {
+            endNanos[to] = endNanos[from];
+        }
+        contents[to] = contents[from];
+        titles[to] = titles[from];
+        groups[to] = groups[from];
+        classNames[to] = classNames[from];
+        styles[to] = styles[from];
+        subgroups[to] = subgroups[from];
+        subgroupOrders[to] = subgroupOrders[from];
+        for (int bit = 0; bit < FLAG_BITS; bit++) {
+            flags.set(to * FLAG_BITS + bit, flags.get(from * FLAG_BITS + bit));
+        }
+        views[to] = views[from];
+        if (views[to] != null) {
+            views[to].row = to;
+            ItemView view = views[to].get();
+            if (view != null) {
+                view.row = to;
+            }
+        }
+        rowsById.put(ids[to], to);
+    }
+
+    /** Copies every value but the id of an item to a row. */
+    private void write(int row, Item item) {
+        setStart(row, item.getStart());
+        setEnd(row, item.getEnd());
+        contents[row] = item.getContent();
+        titles[row] = item.getTitle();
+        groups[row] = dictionary.code(item.getGroup());
+        classNames[row] = dictionary.code(item.getClassName());
+        styles[row] = dictionary.code(item.getStyle());
+        subgroups[row] = dictionary.code(item.getSubgroup());
+        subgroupOrders[row] = item.getSubgroupOrder();
+        setFlag(row, EDITABLE, item.getEditable());
+        setFlag(row, UPDATE_TIME, item.getUpdateTime());
+        setFlag(row, REMOVE, item.getRemove());
+        setFlag(row, SELECTABLE, item.getSelectable());
+    }
+
+    private ItemView view(int row) {
+        expungeCollectedViews();
+        ItemView view = views[row] != null ? views[row].get() : null;
+        if (view == null) {
+            view = new ItemView(this, row);
+            views[row] = new ViewReference(view, collectedViews);
+        }
+        return view;
+    }
+
+    /** Releases the references of the views collected since the last call. */
+    private void expungeCollectedViews() {
+        Reference<? extends ItemView> reference;
+        while ((reference = collectedViews.poll()) != null) {
+            int row = ((ViewReference) reference).row;
+            if (row < views.length && views[row] == reference) {
+                views[row] = null;
+            }
+        }
+    }
+
+    private boolean isViewOf(Item item, int row) {
+        return item instanceof ItemView && ((ItemView) item).store == this && ((ItemView) item).row == row;
+    }
+
+    private void setId(int row, String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Items of a CompactItemStore must have an id");
+        }
+        if (id.equals(ids[row])) {
+            return;
+        }
+        if (rowsById.containsKey(id)) {
+            throw new IllegalArgumentException("An item with id " + id + " is already stored");
+        }
+        rowsById.remove(ids[row]);
+        rowsById.put(id, row);
+        ids[row] = id;
+    }
+
+    private LocalDateTime getStart(int row) {
+        return toDateTime(starts[row], nanos(startNanos, row));
+    }
+
+    private void setStart(int row, LocalDateTime start) {
+        starts[row] = start != null ? toMillis(start) : NO_DATE;
+        if (start != null && nanosOf(start) != 0 && startNanos == null) {
+            startNanos = new int[ids.length];
+        }
+        if (startNanos != null) {
+            startNanos[row] = start != null ? nanosOf(start) : 0;
+        }
+    }
+
+    private LocalDateTime getEnd(int row) {
+        return toDateTime(ends[row], nanos(endNanos, row));
+    }
+
+    private void setEnd(int row, LocalDateTime end) {
+        ends[row] = end != null ? toMillis(end) : NO_DATE;
+        if (end != null && nanosOf(end) != 0 && endNanos == null) {
+            endNanos = new int[ids.length];
+        }
+        if (endNanos != null) {
+            endNanos[row] = end != null ? nanosOf(end) : 0;
+        }
+    }
+
+    private Boolean getFlag(int row, int flag) {
+        int bit = row * FLAG_BITS + flag;
+        return flags.get(bit) ? Boolean.valueOf(flags.get(bit + 1)) : null;
+    }
+
+    private void setFlag(int row, int flag, Boolean value) {
+        int bit = row * FLAG_BITS + flag;
+        flags.set(bit, value != null);
+        flags.set(bit + 1, value != null && value);
+    }
+
+    /** Compares the end of a row to its start. */
+    private int compareDates(int row) {
+        return compare(ends[row], nanos(endNanos, row), starts[row], nanos(startNanos, row));
+    }
+
+    private int[] sortedRows() {
+        if (rowsByStart != null) {
+            return rowsByStart;
+        }
+        int[] rows = new int[size()];
+        int count = 0;
+        long duration = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (removedRows.get(row) || starts[row] == NO_DATE) {
+                continue;
+            }
+            rows[count++] = row;
+            duration = Math.max(duration, duration(row));
+        }
+        rows = Arrays.copyOf(rows, count);
+        mergeSort(rows, new int[count], 0, count);
+        sortedPositions = new int[rowCount];
+        Arrays.fill(sortedPositions, -1);
+        for (int i = 0; i < count; i++) {
+            sortedPositions[rows[i]] = i;
+        }
+        longestDuration = duration;
+        rowsByStart = rows;
+        return rows;
+    }
+
+    /** Returns the duration in millis of a row, 0 for a point or a row ending before it starts. */
+    private long duration(int row) {
+        return ends[row] != NO_DATE && compareDates(row) > 0 ? ends[row] - starts[row] : 0;
+    }
+
+    /**
+     * Moves an updated row to the place of its start in the sorted rows, shifting the rows in
+     * between, rather than sorting all rows again on the next query. The longest duration can only
+     * grow, a bound above the actual durations still finds every overlapping row.
+     */
+    private void reposition(int row) {
+        if (rowsByStart == null) {
+            return;
+        }
+        int from = sortedPositions[row];
+        if (from < 0 || starts[row] == NO_DATE) {
+            // the row gets or loses its start, rebuilt on the next query
+            rowsByStart = null;
+            return;
+        }
+        int[] sorted = rowsByStart;
+        int to = from;
+        if (from > 0 && compareSorted(row, sorted[from - 1]) < 0) {
+            to = upperBound(sorted, 0, from, row);
+            System.arraycopy(sorted, to, sorted, to + 1, from - to);
+        } else if (from < sorted.length - 1 && compareSorted(row, sorted[from + 1]) > 0) {
+            to = upperBound(sorted, from + 1, sorted.length, row) - 1;
+            System.arraycopy(sorted, from + 1, sorted, from, to - from);
+        }
+        sorted[to] = row;
+        for (int i = Math.min(from, to); i <= Math.max(from, to); i++) {
+            sortedPositions[sorted[i]] = i;
+        }
+        longestDuration = Math.max(longestDuration, duration(row));
+    }
+
+    /** Returns the index of the first of the sorted rows in a range placed after the given row. */
+    private int upperBound(int[] sorted, int from, int to, int row) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareSorted(sorted[middle], row) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Order of the sorted rows: by start date, then by row like the stable sort. */
+    private int compareSorted(int row, int otherRow) {
+        int result = compareStarts(row, otherRow);
+        return result != 0 ? result : Integer.compare(row, otherRow);
+    }
+
+    /** Stable sort of rows by start date, so rows starting at the same time keep their order. */
+    private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, middle);
+        mergeSort(rows, buffer, middle, to);
+        if (compareStarts(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compareStarts(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    private int compareStarts(int row, int otherRow) {
+        return compare(starts[row], nanos(startNanos, row), starts[otherRow], nanos(startNanos, otherRow));
+    }
+
+    /** Returns the index of the first sorted row starting at or after the given millis. */
+    private int lowerBound(int[] sorted, long millis) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[sorted[middle]] < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long millis, int nanos, long otherMillis, int otherNanos) {
+        int result = Long.compare(millis, otherMillis);
+        return result != 0 ? result : Integer.compare(nanos, otherNanos);
+    }
+
+    private static int nanos(int[] column, int row) {
+        return column != null ? column[row] : 0;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return CompactItemsEncoder.toLocalEpochMillis(dateTime);
+    }
+
+    /** Returns the millis of a range bound, clamped when it is too far to be stored. */
+    private static long toRangeMillis(LocalDateTime dateTime) {
+        try {
+            return toMillis(dateTime);
+        } catch (ArithmeticException e) {
+            return dateTime.getYear() < 0 ? NO_DATE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    /** Returns the part of a date time finer than a millisecond. */
+    private static int nanosOf(LocalDateTime dateTime) {
+        return dateTime.getNano() % NANOS_PER_MILLI;
+    }
+
+    private static LocalDateTime toDateTime(long millis, int nanos) {
+        if (millis == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * NANOS_PER_MILLI + nanos, ZoneOffset.UTC);
+    }
+
+    /** Read-only list of the views of the rows, valid until the next structural change. */
+    private class RowList extends AbstractList<Item> {
+
+        /* AbstractList has a modCount of its own, the one of the store is meant here. */
+        private final int expectedModCount = CompactItemStore.this.modCount;
+
+        @Override
+        public Item get(int index) {
+            checkModCount();
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount);
+            }
+            return view(index);
+        }
+
+        @Override
+        public int size() {
+            checkModCount();
+            return rowCount;
+        }
+
+        private void checkModCount() {
+            if (CompactItemStore.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /** Weak reference to the view of a row, following the row when the store is compacted. */
+    private static class ViewReference extends WeakReference<ItemView> {
+
+        private int row;
+
+        private ViewReference(ItemView view, ReferenceQueue<ItemView> queue) {
+            super(view, queue);
+            this.row = view.row;
+        }
+    }
+
+    /** Interned string values shared by the dictionary encoded columns. */
+    private static class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        private int code(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        private int find(String value) {
+            return codes.getOrDefault(value, NO_VALUE);
+        }
+
+        private String value(int code) {
+            return code != NO_VALUE ? values.get(code) : null;
+        }
+
+        private void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+
+    /**
+     * Item reading and writing a row of the store. Once detached, it behaves as a plain item
+     * holding the values of the row at that time.
+     */
+    private static class ItemView extends Item {
+
+        private CompactItemStore store;
+
+        private int row;
+
+        private ItemView(CompactItemStore store, int row) {
+            this.store = store;
+            this.row = row;
+        }
+
+        private void detach() {
+            CompactItemStore owner = store;
+            store = null;
+            super.setId(owner.ids[row]);
+            super.setStart(owner.getStart(row));
+            super.setEnd(owner.getEnd(row));
+            super.setContent(owner.contents[row]);
+            super.setTitle(owner.titles[row]);
+            super.setGroup(owner.dictionary.value(owner.groups[row]));
+            super.setClassName(owner.dictionary.value(owner.classNames[row]));
+            super.setStyle(owner.dictionary.value(owner.styles[row]));
+            super.setSubgroup(owner.dictionary.value(owner.subgroups[row]));
+            super.setSubgroupOrder(owner.subgroupOrders[row]);
+            super.setEditable(owner.getFlag(row, EDITABLE));
+            super.setUpdateTime(owner.getFlag(row, UPDATE_TIME));
+            super.setRemove(owner.getFlag(row, REMOVE));
+            super.setSelectable(owner.getFlag(row, SELECTABLE));
+        }
+
+        @Override
+        public String getId() {
+            return store != null ? store.ids[row] : super.getId();
+        }
+
+        @Override
+        public void setId(String id) {
+            if (store != null) {
+                store.setId(row, id);
+            } else {
+                super.setId(id);
+            }
+        }
+
+        @Override
+        public LocalDateTime getStart() {
+            return store != null ? store.getStart(row) : super.getStart();
+        }
+
+        @Override
+        public void setStart(LocalDateTime start) {
+            if (store != null) {
+                store.setStart(row, start);
+            } else {
+                super.setStart(start);
+            }
+        }
+
+        @Override
+        public LocalDateTime getEnd() {
+            return store != null ? store.getEnd(row) : super.getEnd();
+        }
+
+        @Override
+        public void setEnd(LocalDateTime end) {
+            if (store != null) {
+                store.setEnd(row, end);
+            } else {
+                super.setEnd(end);
+            }
+        }
+
+        @Override
+        public String getContent() {
+            return store != null ? store.contents[row] : super.getContent();
+        }
+
+        @Override
+        public void setContent(String content) {
+            if (store != null) {
+                store.contents[row] = content;
+            } else {
+                super.setContent(content);
+            }
+        }
+
+        @Override
+        public String getTitle() {
+            return store != null ? store.titles[row] : super.getTitle();
+        }
+
+        @Override
+        public void setTitle(String title) {
+            if (store != null) {
+                store.titles[row] = title;
+            } else {
+                super.setTitle(title);
+            }
+        }
+
+        @Override
+        public String getGroup() {
+            return store != null ? store.dictionary.value(store.groups[row]) : super.getGroup();
+        }
+
+        @Override
+        public void setGroup(String group) {
+            if (store != null) {
+                store.groups[row] = store.dictionary.code(group);
+            } else {
+                super.setGroup(group);
+            }
+        }
+
+        @Override
+        public String getClassName() {
+            return store != null ? store.dictionary.value(store.classNames[row]) : super.getClassName();
+        }
+
+        @Override
+        public void setClassName(String className) {
+            if (store != null) {
+                store.classNames[row] = store.dictionary.code(className);
+            } else {
+                super.setClassName(className);
+            }
+        }
+
+        @Override
+        public String getStyle() {
+            return store != null ? store.dictionary.value(store.styles[row]) : super.getStyle();
+        }
+
+        @Override
+        public void setStyle(String style) {
+            if (store != null) {
+                store.styles[row] = store.dictionary.code(style);
+            } else {
+                super.setStyle(style);
+            }
+        }
+
+        @Override
+        public String getSubgroup() {
+            return store != null ? store.dictionary.value(store.subgroups[row]) : super.getSubgroup();
+        }
+
+        @Override
+        public void setSubgroup(String subgroup) {
+            if (store != null) {
+                store.subgroups[row] = store.dictionary.code(subgroup);
+            } else {
+                super.setSubgroup(subgroup);
+            }
+        }
+
+        @Override
+        public int getSubgroupOrder() {
+            return store != null ? store.subgroupOrders[row] : super.getSubgroupOrder();
+        }
+
+        @Override
+        public void setSubgroupOrder(int subgroupOrder) {
+            if (store != null) {
+                store.subgroupOrders[row] = subgroupOrder;
+            } else {
+                super.setSubgroupOrder(subgroupOrder);
+            }
+        }
+
+        @Override
+        public Boolean getEditable() {
+            return store != null ? store.getFlag(row, EDITABLE) : super.getEditable();
+        }
+
+        @Override
+        public void setEditable(Boolean editable) {
+            if (store != null) {
+                store.setFlag(row, EDITABLE, editable);
+            } else {
+                super.setEditable(editable);
+            }
+        }
+
+        @Override
+        public Boolean getUpdateTime() {
+            return store != null ? store.getFlag(row, UPDATE_TIME) : super.getUpdateTime();
+        }
+
+        @Override
+        public void setUpdateTime(Boolean updateTime) {
+            if (store != null) {
+                store.setFlag(row, UPDATE_TIME, updateTime);
+            } else {
+                super.setUpdateTime(updateTime);
+            }
+        }
+
+        @Override
+        public Boolean getRemove() {
+            return store != null ? store.getFlag(row, REMOVE) : super.getRemove();
+        }
+
+        @Override
+        public void setRemove(Boolean remove) {
+            if (store != null) {
+                store.setFlag(row, REMOVE, remove);
+            } else {
+                super.setRemove(remove);
+            }
+        }
+
+        @Override
+        public Boolean getSelectable() {
+            return store != null ? store.getFlag(row, SELECTABLE) : super.getSelectable();
+        }
+
+        @Override
+        public void setSelectable(Boolean selectable) {
+            if (store != null) {
+                store.setFlag(row, SELECTABLE, selectable);
+            } else {
+                super.setSelectable(selectable);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Dependency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index of the dependencies of a timeline, keeping for every item its outgoing and incoming
+ * dependencies sorted by dependency id, so the predecessors and successors of an item are found
+ * without walking all dependencies.
+ */
+public class DependencyIndex {
+
+    private final Map<String, Dependency> dependencies = new LinkedHashMap<>();
+
+    /* item id -> dependencies starting from the item, by dependency id */
+    private final Map<String, NavigableMap<String, Dependency>> outgoing = new HashMap<>();
+
+    /* item id -> dependencies ending at the item, by dependency id */
+    private final Map<String, NavigableMap<String, Dependency>> incoming = new HashMap<>();
+
+    /**
+     * Adds a dependency. If a dependency with the same id is already indexed, it is replaced.
+     *
+     * @param dependency the dependency to add
+     * @return the replaced dependency or null
+     */
+    public Dependency add(Dependency dependency) {
+        Dependency previous = remove(dependency.getId());
+        dependencies.put(dependency.getId(), dependency);
+        outgoing.computeIfAbsent(dependency.getFromItemId(), id -> new TreeMap<>()).put(dependency.getId(), dependency);
+        incoming.computeIfAbsent(dependency.getToItemId(), id -> new TreeMap<>()).put(dependency.getId(), dependency);
+        return previous;
+    }
+
+    /**
+     * Removes the dependency with the given id.
+     *
+     * @param dependencyId id of the dependency
+     * @return the removed dependency or null if no dependency has that id
+     */
+    public Dependency remove(String dependencyId) {
+        Dependency dependency = dependencies.remove(dependencyId);
+        if (dependency != null) {
+            unlink(outgoing, dependency.getFromItemId(), dependencyId);
+            unlink(incoming, dependency.getToItemId(), dependencyId);
+        }
+        return dependency;
+    }
+
+    private static void unlink(Map<String, NavigableMap<String, Dependency>> adjacency, String itemId,
+                               String dependencyId) {
+        NavigableMap<String, Dependency> linked = adjacency.get(itemId);
+        if (linked != null) {
+            linked.remove(dependencyId);
+            if (linked.isEmpty()) {
+                adjacency.remove(itemId);
+            }
+        }
+    }
+
+    /**
+     * Returns the dependency with the given id.
+     *
+     * @param dependencyId id of the dependency
+     * @return the dependency or null if no dependency has that id
+     */
+    public Dependency get(String dependencyId) {
+        return dependencies.get(dependencyId);
+    }
+
+    /**
+     * Returns the dependencies starting from an item, sorted by dependency id.
+     *
+     * @param itemId id of the item
+     * @return read-only list of the outgoing dependencies
+     */
+    public List<Dependency> getOutgoing(String itemId) {
+        return linked(outgoing, itemId);
+    }
+
+    /**
+     * Returns the dependencies ending at an item, sorted by dependency id.
+     *
+     * @param itemId id of the item
+     * @return read-only list of the incoming dependencies
+     */
+    public List<Dependency> getIncoming(String itemId) {
+        return linked(incoming, itemId);
+    }
+
+    private static List<Dependency> linked(Map<String, NavigableMap<String, Dependency>> adjacency, String itemId) {
+        NavigableMap<String, Dependency> linked = adjacency.get(itemId);
+        return linked != null
+                ? Collections.unmodifiableList(new ArrayList<>(linked.values()))
+                : Collections.emptyList();
+    }
+
+    /**
+     * Returns all dependencies in insertion order.
+     *
+     * @return read-only list of the dependencies
+     */
+    public List<Dependency> getDependencies() {
+        return Collections.unmodifiableList(new ArrayList<>(dependencies.values()));
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    public void clear() {
+        dependencies.clear();
+        outgoing.clear();
+        incoming.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default {@link ItemStore} implementation. Items are kept in a linked hash map from their id to
+ * the item, so lookups, replacements and removals by id run in constant time while the insertion
+ * order is kept, and an {@link ItemIntervalIndex} answering range queries.
+ * <p>
+ * Items without id are stored and returned by {@link #getItems()}, but they cannot be looked up
+ * or removed by id.
+ */
+public class IndexedItemStore extends AbstractItemStore {
+
+    /* Keyed by item id, or by a key of its own for the items without id. */
+    private final Map<Object, Item> items = new LinkedHashMap<>();
+
+    private final ItemIntervalIndex intervalIndex = new ItemIntervalIndex();
+
+    /* Read-only copy of the items returned by getItems(), null after a change of the items. */
+    private List<Item> itemList;
+
+    public IndexedItemStore() {
+    }
+
+    public IndexedItemStore(Collection<Item> items) {
+        setItems(items);
+    }
+
+    @Override
+    public void add(Item item) {
+        Item previous = items.put(item.getId() != null ? item.getId() : new Object(), item);
+        itemList = null;
+        if (previous != null) {
+            intervalIndex.remove(previous);
+            fireItemRemoved(previous);
+        }
+        intervalIndex.add(item);
+        fireItemAdded(item);
+    }
+
+    @Override
+    public void setItems(Collection<Item> items) {
+        // copied first, the given items may be the list returned by getItems()
+        List<Item> newItems = items != null ? new ArrayList<>(items) : Collections.emptyList();
+        clear();
+        newItems.forEach(this::add);
+    }
+
+    @Override
+    public Item remove(String itemId) {
+        Item item = itemId != null ? items.remove(itemId) : null;
+        if (item != null) {
+            itemList = null;
+            intervalIndex.remove(item);
+            fireItemRemoved(item);
+        }
+        return item;
+    }
+
+    @Override
+    public Item get(String itemId) {
+        return itemId != null ? items.get(itemId) : null;
+    }
+
+    @Override
+    public boolean contains(String itemId) {
+        return itemId != null && items.containsKey(itemId);
+    }
+
+    @Override
+    public void update(Item item) {
+        intervalIndex.update(item);
+        fireItemUpdated(item);
+    }
+
+    @Override
+    public List<Item> findItems(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return group != null
+                ? intervalIndex.find(group, rangeStart, rangeEnd)
+                : intervalIndex.find(rangeStart, rangeEnd);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned list is a copy taken after the last addition or removal, it is not changed by
+     * later changes of the store.
+     */
+    @Override
+    public List<Item> getItems() {
+        if (itemList == null) {
+            itemList = Collections.unmodifiableList(new ArrayList<>(items.values()));
+        }
+        return itemList;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void clear() {
+        items.clear();
+        itemList = null;
+        intervalIndex.clear();
+        fireStoreCleared();
+    }
+}
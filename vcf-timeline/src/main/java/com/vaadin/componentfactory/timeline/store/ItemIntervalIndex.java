@@ -0,0 +1,320 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Index answering "which items overlap a time range" queries, optionally restricted to a group.
+ * <p>
+ * Every partition (all items, and one per group) is a treap ordered by start date where each node
+ * also holds the latest end of its subtree. An overlap query skips the subtrees ending before the
+ * range and the entries starting after it, so it visits O((k + 1) log n) nodes for k results,
+ * whatever the durations of the other items.
+ * <p>
+ * The index keeps a copy of the start, end and group it used for every item. After any of these
+ * values change on an indexed item, {@link #update(Item)} must be called to move it.
+ */
+public class ItemIntervalIndex {
+
+    private final Map<Item, Entry> entries = new IdentityHashMap<>();
+
+    private final Partition allItems = new Partition();
+
+    private final Map<String, Partition> groups = new HashMap<>();
+
+    /* Orders the entries starting at the same time by insertion. */
+    private long nextSequence;
+
+    /**
+     * Adds an item to the index. Items without start date are not indexed.
+     *
+     * @param item the item to add
+     */
+    public void add(Item item) {
+        if (item.getStart() == null) {
+            return;
+        }
+        Entry entry = new Entry(item, nextSequence++);
+        entries.put(item, entry);
+        allItems.add(entry);
+        if (entry.group != null) {
+            groups.computeIfAbsent(entry.group, g -> new Partition()).add(entry);
+        }
+    }
+
+    /**
+     * Removes an item from the index.
+     *
+     * @param item the item to remove
+     */
+    public void remove(Item item) {
+        Entry entry = entries.remove(item);
+        if (entry == null) {
+            return;
+        }
+        allItems.remove(entry);
+        if (entry.group != null) {
+            Partition partition = groups.get(entry.group);
+            partition.remove(entry);
+            if (partition.isEmpty()) {
+                groups.remove(entry.group);
+            }
+        }
+    }
+
+    /**
+     * Re-indexes an item after its start, end or group changed.
+     *
+     * @param item the updated item
+     */
+    public void update(Item item) {
+        Entry entry = entries.get(item);
+        if (entry != null && entry.matches(item)) {
+            return;
+        }
+        remove(item);
+        add(item);
+    }
+
+    /**
+     * Returns the items overlapping the given range, ordered by start date.
+     *
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return items overlapping the range
+     */
+    public List<Item> find(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return allItems.find(rangeStart, rangeEnd);
+    }
+
+    /**
+     * Returns the items of a group overlapping the given range, ordered by start date.
+     *
+     * @param group      id of the group
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return items of the group overlapping the range
+     */
+    public List<Item> find(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        Partition partition = groups.get(group);
+        return partition != null ? partition.find(rangeStart, rangeEnd) : Collections.emptyList();
+    }
+
+    /**
+     * Removes all items from the index.
+     */
+    public void clear() {
+        entries.clear();
+        allItems.clear();
+        groups.clear();
+    }
+
+    /** Indexed values of an item, as they were when it was added. */
+    private static class Entry implements Comparable<Entry> {
+
+        private final Item item;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final String group;
+        private final long sequence;
+
+        private Entry(Item item, long sequence) {
+            this.item = item;
+            this.start = item.getStart();
+            this.end = endOf(item);
+            this.group = item.getGroup();
+            this.sequence = sequence;
+        }
+
+        private boolean matches(Item item) {
+            return start.equals(item.getStart())
+                    && end.equals(endOf(item))
+                    && Objects.equals(group, item.getGroup());
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = start.compareTo(other.start);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+
+        /** Items without end date, or ending before they start, are indexed as points. */
+        private static LocalDateTime endOf(Item item) {
+            LocalDateTime end = item.getEnd();
+            return end != null && end.isAfter(item.getStart()) ? end : item.getStart();
+        }
+    }
+
+    /** Node of a partition, holding the latest end of its subtree. */
+    private static class Node {
+
+        private final Entry entry;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private LocalDateTime maxEnd;
+
+        private Node(Entry entry) {
+            this.entry = entry;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = entry.end;
+        }
+
+        private void updateMaxEnd() {
+            maxEnd = entry.end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    /** Treap of entries ordered by start date, augmented with the latest end of every subtree. */
+    private static class Partition {
+
+        private Node root;
+
+        private void add(Entry entry) {
+            root = insert(root, new Node(entry));
+        }
+
+        private void remove(Entry entry) {
+            root = remove(root, entry);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (added.entry.compareTo(node.entry) < 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.updateMaxEnd();
+            return node;
+        }
+
+        private static Node remove(Node node, Entry entry) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = entry.compareTo(node.entry);
+            if (comparison == 0) {
+                return merge(node.left, node.right);
+            }
+            if (comparison < 0) {
+                node.left = remove(node.left, entry);
+            } else {
+                node.right = remove(node.right, entry);
+            }
+            node.updateMaxEnd();
+            return node;
+        }
+
+        /** Merges two treaps, every entry of the first one being before those of the second. */
+        private static Node merge(Node first, Node second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null) {
+                return first;
+            }
+            if (first.priority > second.priority) {
+                first.right = merge(first.right, second);
+                first.updateMaxEnd();
+                return first;
+            }
+            second.left = merge(first, second.left);
+            second.updateMaxEnd();
+            return second;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.updateMaxEnd();
+            left.updateMaxEnd();
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.updateMaxEnd();
+            right.updateMaxEnd();
+            return right;
+        }
+
+        private List<Item> find(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+            if (root == null || rangeEnd.isBefore(rangeStart)) {
+                return Collections.emptyList();
+            }
+            List<Item> result = new ArrayList<>();
+            collect(root, rangeStart, rangeEnd, result);
+            return result;
+        }
+
+        /** Adds the overlapping entries of a subtree in start order. */
+        private static void collect(Node node, LocalDateTime rangeStart, LocalDateTime rangeEnd, List<Item> result) {
+            if (node == null || node.maxEnd.isBefore(rangeStart)) {
+                return;
+            }
+            collect(node.left, rangeStart, rangeEnd, result);
+            if (node.entry.start.isAfter(rangeEnd)) {
+                return;
+            }
+            if (!node.entry.end.isBefore(rangeStart)) {
+                result.add(node.entry.item);
+            }
+            collect(node.right, rangeStart, rangeEnd, result);
+        }
+
+        private boolean isEmpty() {
+            return root == null;
+        }
+
+        private void clear() {
+            root = null;
+        }
+    }
+}
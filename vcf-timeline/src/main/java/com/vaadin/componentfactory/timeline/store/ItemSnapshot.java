@@ -0,0 +1,337 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.util.CompactItemsEncoder;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned set of items meant to be shared by the {@link SnapshotItemStore}s of many
+ * timelines, e.g. every UI showing the same schedule.
+ * <p>
+ * Items are copied when the snapshot is created and the returned items cannot be changed, their
+ * setters throw an {@link UnsupportedOperationException}. Changes are made by creating the next
+ * version with {@link #withChanges(Collection, Collection)}, which reuses the unchanged items.
+ * <p>
+ * The JSON sent to the client is built once per snapshot and shared by every timeline using it.
+ * Other values derived from the items can be cached the same way with {@link
+ * #getCachedValue(String, Function)}. A snapshot is safe to use from several threads.
+ */
+public final class ItemSnapshot {
+
+    private static final ItemSnapshot EMPTY = new ItemSnapshot(0, Collections.emptyMap());
+
+    private final long version;
+
+    private final Map<String, Item> itemsById;
+
+    private final List<Item> items;
+
+    private final Map<String, Object> cachedValues = new ConcurrentHashMap<>();
+
+    private ItemIntervalIndex intervalIndex;
+
+    private ItemSnapshot(long version, Map<String, Item> itemsById) {
+        this.version = version;
+        this.itemsById = Collections.unmodifiableMap(itemsById);
+        this.items = Collections.unmodifiableList(new ArrayList<>(itemsById.values()));
+    }
+
+    /**
+     * Returns a snapshot without items, with version 0.
+     *
+     * @return the empty snapshot
+     */
+    public static ItemSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the first version of a snapshot holding copies of the given items.
+     *
+     * @param items the items, each having an id
+     * @return the new snapshot
+     * @throws IllegalArgumentException if an item has no id
+     */
+    public static ItemSnapshot of(Collection<Item> items) {
+        return EMPTY.withItems(items);
+    }
+
+    /**
+     * Creates the next version of this snapshot, holding copies of the given items.
+     *
+     * @param items the items, each having an id
+     * @return the new snapshot
+     * @throws IllegalArgumentException if an item has no id
+     */
+    public ItemSnapshot withItems(Collection<Item> items) {
+        Map<String, Item> newItems = new LinkedHashMap<>();
+        items.forEach(item -> newItems.put(requireId(item), freeze(item)));
+        return new ItemSnapshot(version + 1, newItems);
+    }
+
+    /**
+     * Creates the next version of this snapshot, with the given items added or replaced and the
+     * given ids removed. Unchanged items are shared with this snapshot.
+     *
+     * @param changedItems the added or replaced items, each having an id
+     * @param removedIds   ids of the removed items
+     * @return the new snapshot
+     * @throws IllegalArgumentException if an item has no id
+     */
+    public ItemSnapshot withChanges(Collection<Item> changedItems, Collection<String> removedIds) {
+        Map<String, Item> newItems = new LinkedHashMap<>(itemsById);
+        removedIds.forEach(newItems::remove);
+        changedItems.forEach(item -> newItems.put(requireId(item), freeze(item)));
+        return new ItemSnapshot(version + 1, newItems);
+    }
+
+    private static Item freeze(Item item) {
+        return item instanceof FrozenItem ? item : new FrozenItem(item);
+    }
+
+    private static String requireId(Item item) {
+        if (item.getId() == null) {
+            throw new IllegalArgumentException("Items of an ItemSnapshot must have an id");
+        }
+        return item.getId();
+    }
+
+    /**
+     * Returns the version of the snapshot, incremented by every change.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the items of the snapshot.
+     *
+     * @return read-only list of read-only items
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the item with the given id.
+     *
+     * @param itemId id of the item
+     * @return the read-only item or null if no item has that id
+     */
+    public Item get(String itemId) {
+        return itemsById.get(itemId);
+    }
+
+    public boolean contains(String itemId) {
+        return itemsById.containsKey(itemId);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /** Returns the items by id, in the order of the snapshot. */
+    Map<String, Item> getItemsById() {
+        return itemsById;
+    }
+
+    /**
+     * Returns the items of a group overlapping the given range, ordered by start date. A null
+     * group matches the items of every group. The index answering the query is built on the first
+     * call.
+     *
+     * @param group      id of the group or null
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return items of the group overlapping the range
+     */
+    public List<Item> findItems(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        ItemIntervalIndex index = getIntervalIndex();
+        return group != null ? index.find(group, rangeStart, rangeEnd) : index.find(rangeStart, rangeEnd);
+    }
+
+    private synchronized ItemIntervalIndex getIntervalIndex() {
+        if (intervalIndex == null) {
+            ItemIntervalIndex index = new ItemIntervalIndex();
+            items.forEach(index::add);
+            intervalIndex = index;
+        }
+        return intervalIndex;
+    }
+
+    /**
+     * Returns the items as the JSON array sent to the client. The array is shared and must not be
+     * modified.
+     *
+     * @return the items as JSON
+     */
+    public JsonArray getItemsJson() {
+        return getCachedValue("itemsJson", snapshot -> {
+            JsonArray itemsJson = Json.createArray();
+            snapshot.items.forEach(item -> itemsJson.set(itemsJson.length(), item.toJsonObject()));
+            return itemsJson;
+        });
+    }
+
+    /**
+     * Returns the items in the columnar format of {@link CompactItemsEncoder}. The object is shared
+     * and must not be modified.
+     *
+     * @return the items in the columnar format
+     */
+    public JsonObject getCompactItemsJson() {
+        return getCachedValue("compactItemsJson", snapshot -> CompactItemsEncoder.encode(snapshot.items));
+    }
+
+    /**
+     * Returns a value derived from the items, computed on the first call for a key and then shared
+     * by every caller. The value must not be modified.
+     *
+     * @param key     key identifying the value
+     * @param factory computes the value from the snapshot
+     * @param <T>     type of the value
+     * @return the cached value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getCachedValue(String key, Function<ItemSnapshot, T> factory) {
+        return (T) cachedValues.computeIfAbsent(key, k -> Objects.requireNonNull(factory.apply(this)));
+    }
+
+    /** Copy of an item rejecting every change. */
+    private static final class FrozenItem extends Item {
+
+        private final boolean frozen;
+
+        private FrozenItem(Item item) {
+            super(item);
+            frozen = true;
+        }
+
+        private void checkNotFrozen() {
+            if (frozen) {
+                throw new UnsupportedOperationException(
+                        "Items of an ItemSnapshot cannot be changed, use ItemStore.edit to get a modifiable copy");
+            }
+        }
+
+        @Override
+        public void setId(String id) {
+            checkNotFrozen();
+            super.setId(id);
+        }
+
+        @Override
+        public void setStart(LocalDateTime start) {
+            checkNotFrozen();
+            super.setStart(start);
+        }
+
+        @Override
+        public void setEnd(LocalDateTime end) {
+            checkNotFrozen();
+            super.setEnd(end);
+        }
+
+        @Override
+        public void setContent(String content) {
+            checkNotFrozen();
+            super.setContent(content);
+        }
+
+        @Override
+        public void setEditable(Boolean editable) {
+            checkNotFrozen();
+            super.setEditable(editable);
+        }
+
+        @Override
+        public void setUpdateTime(Boolean updateTime) {
+            checkNotFrozen();
+            super.setUpdateTime(updateTime);
+        }
+
+        @Override
+        public void setRemove(Boolean remove) {
+            checkNotFrozen();
+            super.setRemove(remove);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            checkNotFrozen();
+            super.setTitle(title);
+        }
+
+        @Override
+        public void setClassName(String className) {
+            checkNotFrozen();
+            super.setClassName(className);
+        }
+
+        @Override
+        public void setGroup(String group) {
+            checkNotFrozen();
+            super.setGroup(group);
+        }
+
+        @Override
+        public void setStyle(String style) {
+            checkNotFrozen();
+            super.setStyle(style);
+        }
+
+        @Override
+        public void setSelectable(Boolean selectable) {
+            checkNotFrozen();
+            super.setSelectable(selectable);
+        }
+
+        @Override
+        public void setSubgroup(String subgroup) {
+            checkNotFrozen();
+            super.setSubgroup(subgroup);
+        }
+
+        @Override
+        public void setSubgroupOrder(int subgroupOrder) {
+            checkNotFrozen();
+            super.setSubgroupOrder(subgroupOrder);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.Timeline;
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.flow.shared.Registration;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side storage of the items displayed by a {@link Timeline}.
+ * <p>
+ * The timeline delegates every item lookup to its store, so implementations are expected to
+ * resolve an item by its id without walking the whole collection.
+ */
+public interface ItemStore {
+
+    /**
+     * Adds an item to the store. If an item with the same id is already stored, it is replaced.
+     *
+     * @param item the item to add
+     */
+    void add(Item item);
+
+    /**
+     * Replaces the content of the store with the given items.
+     *
+     * @param items the new items of the store
+     */
+    void setItems(Collection<Item> items);
+
+    /**
+     * Removes the item with the given id.
+     *
+     * @param itemId id of the item to remove
+     * @return the removed item or null if no item has that id
+     */
+    Item remove(String itemId);
+
+    /**
+     * Returns the item with the given id.
+     *
+     * @param itemId id of the item
+     * @return the item or null if no item has that id
+     */
+    Item get(String itemId);
+
+    /**
+     * Returns the item with the given id, to be modified. Stores sharing their items with other
+     * stores return a private copy, replacing the shared item in this store. {@link #update(Item)}
+     * must still be called after the start, end or group changed.
+     *
+     * @param itemId id of the item
+     * @return the modifiable item or null if no item has that id
+     */
+    default Item edit(String itemId) {
+        return get(itemId);
+    }
+
+    /**
+     * Returns whether an item with the given id is stored.
+     *
+     * @param itemId id of the item
+     * @return true if the item is stored
+     */
+    default boolean contains(String itemId) {
+        return get(itemId) != null;
+    }
+
+    /**
+     * Notifies the store that the start, end or group of a stored item changed, so any index
+     * built on those values can be refreshed.
+     *
+     * @param item the updated item
+     */
+    default void update(Item item) {
+    }
+
+    /**
+     * Returns the items overlapping the given range, ordered by start date. Items without end
+     * date are considered as points at their start date.
+     *
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return items overlapping the range
+     */
+    default List<Item> findItems(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return findItems(null, rangeStart, rangeEnd);
+    }
+
+    /**
+     * Returns the items of a group overlapping the given range, ordered by start date. A null
+     * group matches the items of every group.
+     *
+     * @param group      id of the group or null
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return items of the group overlapping the range
+     */
+    default List<Item> findItems(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return getItems().stream()
+                .filter(item -> group == null || Objects.equals(group, item.getGroup()))
+                .filter(item -> item.getStart() != null && !item.getStart().isAfter(rangeEnd))
+                .filter(item -> !(item.getEnd() != null ? item.getEnd() : item.getStart()).isBefore(rangeStart))
+                .sorted((a, b) -> a.getStart().compareTo(b.getStart()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the stored items in insertion order.
+     *
+     * @return read-only list of the stored items
+     */
+    List<Item> getItems();
+
+    /**
+     * Returns the number of stored items.
+     *
+     * @return number of items
+     */
+    int size();
+
+    /**
+     * Removes all items from the store.
+     */
+    void clear();
+
+    /**
+     * Adds a listener notified of the changes of the store. Only stores extending {@link
+     * AbstractItemStore} support listeners.
+     *
+     * @param listener the listener
+     * @return a registration to remove the listener
+     * @throws UnsupportedOperationException if the store does not notify its changes
+     */
+    default Registration addItemStoreListener(ItemStoreListener listener) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not notify its changes");
+    }
+}
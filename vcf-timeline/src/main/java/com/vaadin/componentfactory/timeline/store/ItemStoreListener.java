@@ -0,0 +1,61 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.io.Serializable;
+
+/**
+ * Listener notified of the changes of an {@link ItemStore}, used to maintain derived data, like
+ * aggregates, incrementally.
+ *
+ * @see ItemStore#addItemStoreListener(ItemStoreListener)
+ */
+public interface ItemStoreListener extends Serializable {
+
+    /**
+     * Called after an item was added to the store.
+     *
+     * @param item the added item
+     */
+    void itemAdded(Item item);
+
+    /**
+     * Called after an item was removed from the store.
+     *
+     * @param item the removed item
+     */
+    void itemRemoved(Item item);
+
+    /**
+     * Called after the start, end or group of a stored item changed.
+     *
+     * @param item the updated item
+     */
+    void itemUpdated(Item item);
+
+    /**
+     * Called after all items were removed from the store.
+     */
+    void storeCleared();
+}
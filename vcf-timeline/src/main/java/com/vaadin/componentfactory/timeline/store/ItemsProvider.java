@@ -0,0 +1,45 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.Timeline;
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Backend callback used by a {@link Timeline} in lazy mode to load only the items around the
+ * visible window.
+ */
+@FunctionalInterface
+public interface ItemsProvider extends Serializable {
+
+    /**
+     * Returns the items overlapping the given range.
+     *
+     * @param rangeStart start of the requested range
+     * @param rangeEnd   end of the requested range
+     * @return the items overlapping the range
+     */
+    List<Item> fetch(LocalDateTime rangeStart, LocalDateTime rangeEnd);
+}
@@ -0,0 +1,233 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.util.OverlayMap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ItemStore} reading its items from an {@link ItemSnapshot} shared with other timelines,
+ * and keeping the changes made by its own timeline in a private overlay.
+ * <p>
+ * The items of the snapshot are read-only: {@link #edit(String)} copies an item to the overlay
+ * the first time it is changed, and added or removed items only change the overlay, so the
+ * snapshot is never modified. {@link #setItems(Collection)} and {@link #clear()} detach the store
+ * from its snapshot.
+ * <p>
+ * Items must have an id.
+ */
+public class SnapshotItemStore extends AbstractItemStore {
+
+    private ItemSnapshot snapshot;
+
+    private OverlayMap<String, Item> items;
+
+    /* Items of the store when it differs from its snapshot, null until requested. */
+    private List<Item> changedItemList;
+
+    public SnapshotItemStore() {
+        this(ItemSnapshot.empty());
+    }
+
+    public SnapshotItemStore(ItemSnapshot snapshot) {
+        this.snapshot = Objects.requireNonNull(snapshot, "Item snapshot cannot be null");
+        this.items = new OverlayMap<>(snapshot.getItemsById());
+    }
+
+    public ItemSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Replaces the snapshot the items are read from, dropping the local changes.
+     *
+     * @param snapshot the new snapshot
+     */
+    public void setSnapshot(ItemSnapshot snapshot) {
+        this.snapshot = Objects.requireNonNull(snapshot, "Item snapshot cannot be null");
+        items = new OverlayMap<>(snapshot.getItemsById());
+        changedItemList = null;
+        fireStoreCleared();
+        if (hasItemStoreListeners()) {
+            snapshot.getItems().forEach(this::fireItemAdded);
+        }
+    }
+
+    /**
+     * Returns whether items were added, changed or removed since the snapshot was set.
+     *
+     * @return true if the store differs from its snapshot
+     */
+    public boolean hasChanges() {
+        return items.hasChanges();
+    }
+
+    /**
+     * Returns the items added or edited since the snapshot was set.
+     *
+     * @return read-only collection of the local items
+     */
+    public Collection<Item> getChangedItems() {
+        return items.getOverlay().values();
+    }
+
+    /**
+     * Returns the ids of the items of the snapshot removed from the store.
+     *
+     * @return read-only set of ids
+     */
+    public Set<String> getRemovedIds() {
+        return items.getRemovedKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the item has no id
+     */
+    @Override
+    public void add(Item item) {
+        if (item.getId() == null) {
+            throw new IllegalArgumentException("Items of a SnapshotItemStore must have an id");
+        }
+        Item previous = items.put(item.getId(), item);
+        changedItemList = null;
+        if (previous != null) {
+            fireItemRemoved(previous);
+        }
+        fireItemAdded(item);
+    }
+
+    @Override
+    public void setItems(Collection<Item> items) {
+        List<Item> newItems = items != null ? new ArrayList<>(items) : Collections.emptyList();
+        clear();
+        newItems.forEach(this::add);
+    }
+
+    @Override
+    public Item remove(String itemId) {
+        Item item = itemId != null ? items.remove(itemId) : null;
+        if (item != null) {
+            changedItemList = null;
+            fireItemRemoved(item);
+        }
+        return item;
+    }
+
+    @Override
+    public Item get(String itemId) {
+        return itemId != null ? items.get(itemId) : null;
+    }
+
+    @Override
+    public boolean contains(String itemId) {
+        return itemId != null && items.containsKey(itemId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The first edit of an item of the snapshot copies it to the overlay of this store.
+     */
+    @Override
+    public Item edit(String itemId) {
+        Item item = get(itemId);
+        if (item == null || items.getOverlay().containsKey(itemId)) {
+            return item;
+        }
+        Item copy = new Item(item);
+        items.put(itemId, copy);
+        changedItemList = null;
+        if (hasItemStoreListeners()) {
+            fireItemRemoved(item);
+            fireItemAdded(copy);
+        }
+        return copy;
+    }
+
+    @Override
+    public void update(Item item) {
+        fireItemUpdated(item);
+    }
+
+    @Override
+    public List<Item> findItems(String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<Item> snapshotItems = snapshot.findItems(group, rangeStart, rangeEnd);
+        if (!items.hasChanges()) {
+            return snapshotItems;
+        }
+        // snapshot items that were edited or removed are not the stored items anymore
+        List<Item> result = snapshotItems.stream()
+                .filter(item -> items.get(item.getId()) == item)
+                .collect(Collectors.toList());
+        for (Item item : items.getOverlay().values()) {
+            if ((group == null || group.equals(item.getGroup())) && overlaps(item, rangeStart, rangeEnd)) {
+                result.add(item);
+            }
+        }
+        result.sort(Comparator.comparing(Item::getStart));
+        return result;
+    }
+
+    private static boolean overlaps(Item item, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        if (item.getStart() == null || item.getStart().isAfter(rangeEnd)) {
+            return false;
+        }
+        return !(item.getEnd() != null && item.getEnd().isAfter(item.getStart())
+                ? item.getEnd() : item.getStart()).isBefore(rangeStart);
+    }
+
+    @Override
+    public List<Item> getItems() {
+        if (!items.hasChanges()) {
+            return snapshot.getItems();
+        }
+        if (changedItemList == null) {
+            changedItemList = Collections.unmodifiableList(new ArrayList<>(items.values()));
+        }
+        return changedItemList;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void clear() {
+        snapshot = ItemSnapshot.empty();
+        items = new OverlayMap<>(snapshot.getItemsById());
+        changedItemList = null;
+        fireStoreCleared();
+    }
+}
@@ -0,0 +1,296 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.model.TimeBucket;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Pre-aggregated item counts per group in hour, day, week and month buckets, to render an
+ * overview of a timeline without sending its items.
+ * <p>
+ * Every item is counted in the bucket containing its start date, at every resolution, so adding,
+ * moving or removing an item updates four buckets whatever its duration. Buckets also track the
+ * durations of their items, so their shortest and longest durations stay exact when items leave.
+ * <p>
+ * The index is kept up to date by registering it on a store, see {@link
+ * ItemStore#addItemStoreListener(ItemStoreListener)}.
+ */
+public class TimeBucketIndex implements ItemStoreListener {
+
+    /**
+     * Size of the buckets of a {@link TimeBucketIndex}.
+     */
+    public enum Resolution {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1)),
+        WEEK(Duration.ofDays(7)),
+        MONTH(Duration.ofDays(30));
+
+        private final Duration approximateDuration;
+
+        Resolution(Duration approximateDuration) {
+            this.approximateDuration = approximateDuration;
+        }
+
+        /**
+         * Returns the start of the bucket containing a date. Weeks start on Monday.
+         *
+         * @param dateTime the date
+         * @return the start of its bucket
+         */
+        public LocalDateTime bucketStart(LocalDateTime dateTime) {
+            switch (this) {
+                case HOUR:
+                    return dateTime.truncatedTo(ChronoUnit.HOURS);
+                case DAY:
+                    return dateTime.truncatedTo(ChronoUnit.DAYS);
+                case WEEK:
+                    return dateTime.truncatedTo(ChronoUnit.DAYS)
+                            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                default:
+                    return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            }
+        }
+
+        /**
+         * Returns the end of the bucket starting at the given date.
+         *
+         * @param bucketStart start of a bucket
+         * @return the start of the next bucket
+         */
+        public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+            switch (this) {
+                case HOUR:
+                    return bucketStart.plusHours(1);
+                case DAY:
+                    return bucketStart.plusDays(1);
+                case WEEK:
+                    return bucketStart.plusWeeks(1);
+                default:
+                    return bucketStart.plusMonths(1);
+            }
+        }
+
+        /**
+         * Returns the finest resolution dividing a window in at most the given number of buckets,
+         * or months if even months are too fine.
+         *
+         * @param window     duration of the window
+         * @param maxBuckets maximum number of buckets
+         * @return the resolution to use for the window
+         */
+        public static Resolution forWindow(Duration window, int maxBuckets) {
+            for (Resolution resolution : values()) {
+                if (window.toMillis() / resolution.approximateDuration.toMillis() <= maxBuckets) {
+                    return resolution;
+                }
+            }
+            return MONTH;
+        }
+    }
+
+    /* Entries by item id, stores may return a different instance of an item on every call. */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /* Entries of the items without id, which can only be told apart by their identity. */
+    private final Map<Item, Entry> entriesWithoutId = new IdentityHashMap<>();
+
+    private final Map<Resolution, Map<String, TreeMap<LocalDateTime, Bucket>>> buckets = new EnumMap<>(Resolution.class);
+
+    public TimeBucketIndex() {
+        for (Resolution resolution : Resolution.values()) {
+            buckets.put(resolution, new HashMap<>());
+        }
+    }
+
+    public TimeBucketIndex(Collection<Item> items) {
+        this();
+        items.forEach(this::itemAdded);
+    }
+
+    @Override
+    public void itemAdded(Item item) {
+        // an item added again with the same id replaces the previous one
+        itemRemoved(item);
+        if (item.getStart() == null) {
+            return;
+        }
+        Entry entry = new Entry(item);
+        if (item.getId() != null) {
+            entries.put(item.getId(), entry);
+        } else {
+            entriesWithoutId.put(item, entry);
+        }
+        for (Resolution resolution : Resolution.values()) {
+            buckets.get(resolution)
+                    .computeIfAbsent(entry.group, g -> new TreeMap<>())
+                    .computeIfAbsent(resolution.bucketStart(entry.start), s -> new Bucket())
+                    .add(entry.duration);
+        }
+    }
+
+    @Override
+    public void itemRemoved(Item item) {
+        Entry entry = item.getId() != null ? entries.remove(item.getId()) : entriesWithoutId.remove(item);
+        if (entry == null) {
+            return;
+        }
+        for (Resolution resolution : Resolution.values()) {
+            Map<String, TreeMap<LocalDateTime, Bucket>> groups = buckets.get(resolution);
+            TreeMap<LocalDateTime, Bucket> groupBuckets = groups.get(entry.group);
+            LocalDateTime bucketStart = resolution.bucketStart(entry.start);
+            Bucket bucket = groupBuckets.get(bucketStart);
+            bucket.remove(entry.duration);
+            if (bucket.count == 0) {
+                groupBuckets.remove(bucketStart);
+                if (groupBuckets.isEmpty()) {
+                    groups.remove(entry.group);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void itemUpdated(Item item) {
+        Entry entry = item.getId() != null ? entries.get(item.getId()) : entriesWithoutId.get(item);
+        if (entry != null && entry.matches(item)) {
+            return;
+        }
+        itemRemoved(item);
+        itemAdded(item);
+    }
+
+    @Override
+    public void storeCleared() {
+        entries.clear();
+        entriesWithoutId.clear();
+        buckets.values().forEach(Map::clear);
+    }
+
+    /**
+     * Returns the buckets of every group overlapping the given range, ordered by group and start.
+     *
+     * @param resolution size of the buckets
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return the non-empty buckets overlapping the range
+     */
+    public List<TimeBucket> find(Resolution resolution, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        List<TimeBucket> found = new ArrayList<>();
+        buckets.get(resolution).keySet().stream()
+                .sorted((a, b) -> a == null ? -1 : b == null ? 1 : a.compareTo(b))
+                .forEach(group -> found.addAll(find(resolution, group, rangeStart, rangeEnd)));
+        return found;
+    }
+
+    /**
+     * Returns the buckets of a group overlapping the given range, ordered by start. A null group
+     * stands for the items without group.
+     *
+     * @param resolution size of the buckets
+     * @param group      id of the group or null
+     * @param rangeStart start of the range
+     * @param rangeEnd   end of the range
+     * @return the non-empty buckets of the group overlapping the range
+     */
+    public List<TimeBucket> find(Resolution resolution, String group, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        TreeMap<LocalDateTime, Bucket> groupBuckets = buckets.get(resolution).get(group);
+        if (groupBuckets == null || rangeEnd.isBefore(rangeStart)) {
+            return new ArrayList<>();
+        }
+        NavigableMap<LocalDateTime, Bucket> overlapping =
+                groupBuckets.subMap(resolution.bucketStart(rangeStart), true, rangeEnd, true);
+        List<TimeBucket> found = new ArrayList<>(overlapping.size());
+        overlapping.forEach((start, bucket) -> found.add(new TimeBucket(group, start, resolution.bucketEnd(start),
+                bucket.count, Duration.ofMillis(bucket.durations.firstKey()), Duration.ofMillis(bucket.durations.lastKey()))));
+        return found;
+    }
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return number of items
+     */
+    public int size() {
+        return entries.size() + entriesWithoutId.size();
+    }
+
+    /**
+     * Values of an item the index used, to find its buckets again once the item changed.
+     */
+    private static class Entry {
+
+        private final String group;
+
+        private final LocalDateTime start;
+
+        private final long duration;
+
+        private Entry(Item item) {
+            this.group = item.getGroup();
+            this.start = item.getStart();
+            this.duration = item.getEnd() != null ? Duration.between(item.getStart(), item.getEnd()).toMillis() : 0;
+        }
+
+        private boolean matches(Item item) {
+            return Objects.equals(group, item.getGroup()) && start.equals(item.getStart())
+                    && duration == (item.getEnd() != null ? Duration.between(item.getStart(), item.getEnd()).toMillis() : 0);
+        }
+    }
+
+    /**
+     * Items of a group starting in a bucket, as their number and the count of every duration.
+     */
+    private static class Bucket {
+
+        private int count;
+
+        private final TreeMap<Long, Integer> durations = new TreeMap<>();
+
+        private void add(long duration) {
+            count++;
+            durations.merge(duration, 1, Integer::sum);
+        }
+
+        private void remove(long duration) {
+            count--;
+            durations.computeIfPresent(duration, (d, n) -> n > 1 ? n - 1 : null);
+        }
+    }
+}
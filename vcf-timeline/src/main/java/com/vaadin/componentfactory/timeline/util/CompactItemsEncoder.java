@@ -0,0 +1,144 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes items in a columnar format, decoded by {@code vcftimeline._decodeItems} on the client.
+ * <p>
+ * Every item field is sent as one array holding the value of each item, start and end dates are
+ * sent as numbers and group, class name and style are dictionary encoded: the column holds an
+ * index in a list of the distinct values. Columns where every value is null are omitted.
+ * <p>
+ * Dates are sent as the epoch millis of the local date time read as UTC, the client rebuilds the
+ * same local date time from the UTC fields, so no time zone conversion happens on the way.
+ */
+public class CompactItemsEncoder {
+
+    /** Marker property identifying a columnar payload on the client. */
+    public static final String FORMAT = "columns";
+
+    private CompactItemsEncoder() {
+    }
+
+    /**
+     * Encodes the given items in the columnar format.
+     *
+     * @param items the items to encode
+     * @return the encoded items
+     */
+    public static JsonObject encode(Collection<Item> items) {
+        JsonObject encoded = Json.createObject();
+        encoded.put("format", FORMAT);
+        encoded.put("length", items.size());
+        putColumn(encoded, "id", items, item -> item.getId() != null ? Json.create(item.getId()) : null);
+        putColumn(encoded, "content", items, item -> item.getContent() != null ? Json.create(item.getContent()) : null);
+        putColumn(encoded, "start", items, item -> item.getStart() != null ? Json.create(toLocalEpochMillis(item.getStart())) : null);
+        putColumn(encoded, "end", items, item -> item.getEnd() != null ? Json.create(toLocalEpochMillis(item.getEnd())) : null);
+        putDictionaryColumn(encoded, "group", items, Item::getGroup);
+        putColumn(encoded, "subgroup", items, item -> item.getSubgroup() != null ? Json.create(item.getSubgroup()) : null);
+        putColumn(encoded, "subgroupOrder", items, item -> Json.create(item.getSubgroupOrder()));
+        putColumn(encoded, "selectable", items, item -> item.getSelectable() != null ? Json.create(item.getSelectable()) : null);
+        putColumn(encoded, "editable", items, item -> item.getEditable() != null ? Json.create(item.getEditable()) : null);
+        putColumn(encoded, "updateTime", items, item -> item.getUpdateTime() != null ? Json.create(item.getUpdateTime()) : null);
+        putColumn(encoded, "remove", items, item -> item.getRemove() != null ? Json.create(item.getRemove()) : null);
+        putColumn(encoded, "title", items, item -> item.getTitle() != null ? Json.create(item.getTitle()) : null);
+        putDictionaryColumn(encoded, "className", items, Item::getClassName);
+        putDictionaryColumn(encoded, "style", items, Item::getStyle);
+        return encoded;
+    }
+
+    /**
+     * Returns the epoch millis of a local date time read as UTC.
+     *
+     * @param dateTime the local date time
+     * @return the millis since 1970-01-01T00:00 in the same local calendar
+     */
+    public static long toLocalEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Returns the local date time of epoch millis returned by {@link #toLocalEpochMillis}, as the
+     * client also sends its dates.
+     *
+     * @param localEpochMillis the millis since 1970-01-01T00:00 in the local calendar
+     * @return the local date time
+     */
+    public static LocalDateTime fromLocalEpochMillis(long localEpochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localEpochMillis, 1000L),
+                (int) Math.floorMod(localEpochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static void putColumn(JsonObject encoded, String name, Collection<Item> items,
+                                  Function<Item, JsonValue> valueProvider) {
+        JsonArray column = Json.createArray();
+        boolean hasValue = false;
+        int index = 0;
+        for (Item item : items) {
+            JsonValue value = valueProvider.apply(item);
+            hasValue |= value != null;
+            column.set(index++, value != null ? value : Json.createNull());
+        }
+        if (hasValue) {
+            encoded.put(name, column);
+        }
+    }
+
+    /**
+     * Puts a column as an array of indexes in a dictionary of its distinct values, -1 standing for
+     * null. The dictionary is put as {@code <name>Values}.
+     */
+    private static void putDictionaryColumn(JsonObject encoded, String name, Collection<Item> items,
+                                            Function<Item, String> valueProvider) {
+        Map<String, Integer> indexes = new HashMap<>();
+        JsonArray values = Json.createArray();
+        JsonArray column = Json.createArray();
+        int index = 0;
+        for (Item item : items) {
+            String value = valueProvider.apply(item);
+            int valueIndex = -1;
+            if (value != null) {
+                valueIndex = indexes.computeIfAbsent(value, v -> {
+                    values.set(values.length(), v);
+                    return values.length() - 1;
+                });
+            }
+            column.set(index++, valueIndex);
+        }
+        if (values.length() > 0) {
+            encoded.put(name, column);
+            encoded.put(name + "Values", values);
+        }
+    }
+}
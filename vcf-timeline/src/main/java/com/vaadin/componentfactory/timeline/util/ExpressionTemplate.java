@@ -0,0 +1,162 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Template holding SpEL expressions enclosed in curly braces, e.g. {@code "Start: {start}"}, as
+ * rendered by {@link TimelineUtil#parseString(String, Object, Function)}.
+ * <p>
+ * A template is parsed once into its literal parts and its expressions, and kept in a bounded
+ * cache keyed by its text, so rendering the same template again only evaluates the expressions.
+ * Expressions are compiled to bytecode once they have been evaluated a few times, and fall back
+ * to interpretation when the compiled code does not fit a context, e.g. when the same template is
+ * rendered against objects of different classes.
+ */
+public class ExpressionTemplate {
+
+    /** Maximum number of cached templates. */
+    public static final int CACHE_SIZE = 256;
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\{([^}]+)}");
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, ExpressionTemplate.class.getClassLoader()));
+
+    private static final Map<String, ExpressionTemplate> CACHE = new LinkedHashMap<String, ExpressionTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExpressionTemplate> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /* literals[i] precedes expressions[i], the last literal follows the last expression */
+    private final String[] literals;
+
+    private final String[] expressionTexts;
+
+    /* parsed expressions, null where the text is not a valid expression */
+    private final Expression[] expressions;
+
+    private final int literalsLength;
+
+    private ExpressionTemplate(String template) {
+        List<String> literalList = new ArrayList<>();
+        List<String> expressionList = new ArrayList<>();
+        Matcher matcher = EXPRESSION_PATTERN.matcher(template);
+        int position = 0;
+        while (matcher.find()) {
+            literalList.add(template.substring(position, matcher.start()));
+            expressionList.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literalList.add(template.substring(position));
+
+        literals = literalList.toArray(new String[0]);
+        expressionTexts = expressionList.toArray(new String[0]);
+        expressions = new Expression[expressionTexts.length];
+        for (int i = 0; i < expressionTexts.length; i++) {
+            try {
+                expressions[i] = PARSER.parseExpression(expressionTexts[i]);
+            } catch (Exception e) {
+                // left null, rendered from the fallback only
+            }
+        }
+        literalsLength = literalList.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Returns the parsed template of the given text, from the cache if it was parsed before.
+     *
+     * @param template the template text
+     * @return the parsed template
+     */
+    public static ExpressionTemplate of(String template) {
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(template, ExpressionTemplate::new);
+        }
+    }
+
+    /**
+     * Renders the template, replacing every expression by its value evaluated on the context, or
+     * by the value of the fallback callback when the expression cannot be evaluated or is null.
+     *
+     * @param context          the object on which expressions are evaluated
+     * @param fallbackCallback a callback providing a value from the expression text, may be null
+     * @return the rendered template
+     */
+    public String render(Object context, Function<String, Object> fallbackCallback) {
+        if (expressions.length == 0) {
+            return literals[0];
+        }
+        StringBuilder result = new StringBuilder(literalsLength + 16 * expressions.length);
+        for (int i = 0; i < expressions.length; i++) {
+            result.append(literals[i]);
+            Object value = null;
+            if (expressions[i] != null) {
+                try {
+                    value = expressions[i].getValue(context);
+                } catch (Exception e) {
+                    // Handle exceptions if expression evaluation fails
+                }
+            }
+            // If value is null, try the fallback callback
+            if (value == null && fallbackCallback != null) {
+                value = fallbackCallback.apply(expressionTexts[i]);
+            }
+            result.append(format(value));
+        }
+        result.append(literals[expressions.length]);
+        return result.toString();
+    }
+
+    /**
+     * Formats the value of an expression, with the formats of {@link TimelineUtil} for dates and
+     * numbers and "checked" for true booleans.
+     */
+    private static String format(Object value) {
+        if (value instanceof LocalDateTime) {
+            return TimelineUtil.formatDatesTime((LocalDateTime) value);
+        } else if (value instanceof LocalDate) {
+            return TimelineUtil.formatDates((LocalDate) value);
+        } else if (value instanceof Double) {
+            return TimelineUtil.formatDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            return ((Boolean) value) ? "checked" : "";
+        }
+        return value != null ? value.toString() : "";
+    }
+}
@@ -0,0 +1,120 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aggregates the items of a group into fixed width buckets, used to replace items too dense to be
+ * told apart at the current zoom level.
+ * <p>
+ * Every bucket becomes one read-only item spanning the bucket, holding the number of items
+ * overlapping it as content and an opacity growing with that number.
+ */
+public class ItemDensityAggregator {
+
+    /** Prefix of the ids of the aggregate items, followed by the bucket index and the group. */
+    public static final String ID_PREFIX = "lod_";
+
+    /** Class name of the aggregate items. */
+    public static final String CLASS_NAME = "vcf-timeline-lod";
+
+    private ItemDensityAggregator() {
+    }
+
+    /**
+     * Returns whether an item id is the id of an aggregate item.
+     *
+     * @param itemId the item id
+     * @return true if the id was created by this aggregator
+     */
+    public static boolean isAggregateId(String itemId) {
+        return itemId != null && itemId.startsWith(ID_PREFIX);
+    }
+
+    /**
+     * Aggregates items into buckets dividing the given range.
+     *
+     * @param group       group of the items, set on the aggregate items
+     * @param items       the items overlapping the range
+     * @param rangeStart  start of the range
+     * @param rangeEnd    end of the range
+     * @param bucketCount number of buckets dividing the range
+     * @return one aggregate item per bucket overlapped by at least one item
+     */
+    public static List<Item> aggregate(String group, List<Item> items, LocalDateTime rangeStart,
+                                       LocalDateTime rangeEnd, int bucketCount) {
+        long rangeMillis = Duration.between(rangeStart, rangeEnd).toMillis();
+        if (bucketCount <= 0 || rangeMillis <= 0) {
+            return new ArrayList<>();
+        }
+        double bucketMillis = (double) rangeMillis / bucketCount;
+
+        // counts are accumulated as differences, so long items cost two updates whatever their span
+        int[] counts = new int[bucketCount + 1];
+        for (Item item : items) {
+            LocalDateTime end = item.getEnd() != null ? item.getEnd() : item.getStart();
+            int first = bucketOf(Duration.between(rangeStart, item.getStart()).toMillis(), bucketMillis, bucketCount);
+            int last = bucketOf(Duration.between(rangeStart, end).toMillis(), bucketMillis, bucketCount);
+            counts[first]++;
+            counts[last + 1]--;
+        }
+
+        int maxCount = 0;
+        for (int i = 0, count = 0; i < bucketCount; i++) {
+            count += counts[i];
+            counts[i] = count;
+            maxCount = Math.max(maxCount, count);
+        }
+
+        List<Item> aggregates = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            Item aggregate = new Item(
+                    rangeStart.plus(Duration.ofMillis(Math.round(i * bucketMillis))),
+                    rangeStart.plus(Duration.ofMillis(Math.round((i + 1) * bucketMillis))),
+                    String.valueOf(counts[i]));
+            // the bucket index comes first, it holds no separator so ids of different groups never collide
+            aggregate.setId(ID_PREFIX + i + (group != null ? "_" + group : ""));
+            aggregate.setGroup(group);
+            aggregate.setTitle(counts[i] + " items");
+            aggregate.setClassName(CLASS_NAME);
+            aggregate.setStyle(String.format(Locale.ROOT, "opacity: %.2f;", 0.3 + 0.7 * counts[i] / maxCount));
+            aggregate.setSelectable(false);
+            aggregate.setEditable(false);
+            aggregates.add(aggregate);
+        }
+        return aggregates;
+    }
+
+    private static int bucketOf(long offsetMillis, double bucketMillis, int bucketCount) {
+        return (int) Math.max(0, Math.min(bucketCount - 1, Math.floor(offsetMillis / bucketMillis)));
+    }
+}
@@ -0,0 +1,200 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map layering local changes over a read-only base map, so a base map shared by several owners is
+ * never copied or modified.
+ * <p>
+ * Put entries are kept in an overlay and removed keys of the base map are remembered, the base map
+ * itself is only read. Iteration returns the entries of the base map in its order, with the
+ * values of the overlay when they were replaced, followed by the new keys in insertion order.
+ * The base map must not change while it is used by an overlay map.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class OverlayMap<K, V> extends AbstractMap<K, V> {
+
+    private Map<K, V> base;
+
+    private final Map<K, V> overlay = new LinkedHashMap<>();
+
+    private final Set<K> removedKeys = new HashSet<>();
+
+    /* Number of overlay keys that are not in the base map. */
+    private int addedCount;
+
+    public OverlayMap(Map<K, V> base) {
+        this.base = base;
+    }
+
+    /**
+     * Returns the entries put in this map, replacing a value of the base map or not.
+     *
+     * @return read-only view of the local entries
+     */
+    public Map<K, V> getOverlay() {
+        return Collections.unmodifiableMap(overlay);
+    }
+
+    /**
+     * Returns the keys of the base map removed from this map.
+     *
+     * @return read-only view of the removed keys
+     */
+    public Set<K> getRemovedKeys() {
+        return Collections.unmodifiableSet(removedKeys);
+    }
+
+    /**
+     * Returns whether this map differs from its base map.
+     *
+     * @return true if entries were put or base keys removed
+     */
+    public boolean hasChanges() {
+        return !overlay.isEmpty() || !removedKeys.isEmpty();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (overlay.containsKey(key)) {
+            return overlay.get(key);
+        }
+        return removedKeys.contains(key) ? null : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overlay.containsKey(key) || !removedKeys.contains(key) && base.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V previous = get(key);
+        if (!overlay.containsKey(key) && !base.containsKey(key)) {
+            addedCount++;
+        }
+        overlay.put(key, value);
+        removedKeys.remove(key);
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        V previous = get(key);
+        if (overlay.containsKey(key)) {
+            overlay.remove(key);
+            if (!base.containsKey(key)) {
+                addedCount--;
+            }
+        }
+        if (base.containsKey(key)) {
+            removedKeys.add((K) key);
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return base.size() - removedKeys.size() + addedCount;
+    }
+
+    /**
+     * Removes all entries, detaching this map from its base map.
+     */
+    @Override
+    public void clear() {
+        base = Collections.emptyMap();
+        overlay.clear();
+        removedKeys.clear();
+        addedCount = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return OverlayMap.this.size();
+            }
+        };
+    }
+
+    /** Iterates the remaining base entries, then the entries added to the overlay. */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<Entry<K, V>> baseEntries = base.entrySet().iterator();
+
+        private final Iterator<Entry<K, V>> overlayEntries = overlay.entrySet().iterator();
+
+        private Entry<K, V> next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && baseEntries.hasNext()) {
+                Entry<K, V> entry = baseEntries.next();
+                if (overlay.containsKey(entry.getKey())) {
+                    next = new SimpleImmutableEntry<>(entry.getKey(), overlay.get(entry.getKey()));
+                } else if (!removedKeys.contains(entry.getKey())) {
+                    next = new SimpleImmutableEntry<>(entry);
+                }
+            }
+            while (next == null && overlayEntries.hasNext()) {
+                Entry<K, V> entry = overlayEntries.next();
+                if (!base.containsKey(entry.getKey())) {
+                    next = new SimpleImmutableEntry<>(entry);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -20,20 +20,22 @@ package com.vaadin.componentfactory.timeline.util;
  * #L%
  */
 
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class TimelineUtil {
 
+    /* Formatters are immutable and thread-safe, so they are shared instead of created per call. */
+    private static final DateTimeFormatter CLIENT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     public static LocalDateTime convertLocalDateTime(String stringDate) {
         return LocalDateTime.parse(stringDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
@@ -49,8 +51,7 @@ public class TimelineUtil {
     public static LocalDateTime convertDateTimeFromString(String strDateTime) {
         if (strDateTime == null)
             return null;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-        return LocalDateTime.parse(strDateTime, formatter);
+        return LocalDateTime.parse(strDateTime, CLIENT_DATE_TIME_FORMATTER);
     }
 
     /**
@@ -60,7 +61,7 @@ public class TimelineUtil {
      * @return a string representing the formatted date and time
      */
     public static String formatDatesTime(LocalDateTime date) {
-        return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        return date.format(DATE_TIME_FORMATTER);
     }
 
     /**
@@ -70,7 +71,7 @@ public class TimelineUtil {
      * @return a string representing the formatted date
      */
     public static String formatDates(LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        return date.format(DATE_FORMATTER);
     }
 
     /**
@@ -103,42 +104,6 @@ public class TimelineUtil {
      * @return the input string with the expressions replaced by their evaluated values
      */
     public static String parseString(String input, Object context, Function<String, Object> fallbackCallback) {
-        Pattern pattern = Pattern.compile("\\{([^}]+)}");
-        Matcher matcher = pattern.matcher(input);
-        StringBuilder result = new StringBuilder();
-
-        ExpressionParser parser = new SpelExpressionParser();
-        while (matcher.find()) {
-            String expression = matcher.group(1);
-            Object value = null;
-            try {
-                // Try to get the value from the context
-                value = parser.parseExpression(expression).getValue(context);
-            } catch (Exception e) {
-                // Handle exceptions if expression parsing or evaluation fails
-            }
-            // If value is null, try the fallback callback
-            if (value == null && fallbackCallback != null) {
-                value = fallbackCallback.apply(expression);
-            }
-
-            // Handle different types with custom formatting
-            String replacement;
-            if (value instanceof LocalDateTime) {
-                replacement = TimelineUtil.formatDatesTime((LocalDateTime) value);
-            } else if (value instanceof LocalDate) {
-                replacement = TimelineUtil.formatDates((LocalDate) value);
-            } else if (value instanceof Double) {
-                replacement = TimelineUtil.formatDouble((Double) value);
-            } else if (value instanceof Boolean) {
-                replacement = ((Boolean) value) ? "checked" : "";
-            } else {
-                replacement = value != null ? value.toString() : "";
-            }
-
-            matcher.appendReplacement(result, replacement);
-        }
-        matcher.appendTail(result);
-        return result.toString();
+        return ExpressionTemplate.of(input).render(context, fallbackCallback);
     }
 }
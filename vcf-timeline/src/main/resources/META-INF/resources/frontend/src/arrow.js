@@ -55,12 +55,21 @@
         );
 
         this._bGroup = bGroup;
-        
-        this._dependency = [];
-        this._dependencyPath = [];
+
+        // dependency id -> dependency
+        this._dependency = new Map();
+        // dependency id -> svg path
+        this._dependencyPath = new Map();
+        // item id -> ids of the dependencies linked to the item
+        this._itemDependencies = new Map();
+        // item id -> position of the item when its paths were last drawn
+        this._itemPositions = new Map();
         this._minItemHeight = null;
-        if (!this._bGroup)
-            this._initialize();
+        // the minimum height is measured again on the next redraw after items change
+        this._minItemHeightStale = true;
+        this._observedItems = null;
+        this._onItemsChanged = (event, properties) => this._itemsChanged(event, properties);
+        this._initialize();
     }
   
     _initialize() {
@@ -75,8 +84,8 @@
         this._timeline.dom.center.appendChild(this._svg);
     }
     
-    _createPath(){
-        //Add a new path to array dependencyPath and to svg
+    _createPath(dep){
+        //Add a new path for the dependency to the svg
         let somePath = document.createElementNS(
             "http://www.w3.org/2000/svg",
             "path"
@@ -86,18 +95,88 @@
           somePath.style.strokeWidth = "3px";
           somePath.style.fill = "none";
           somePath.style.pointerEvents = "auto";
-          this._dependencyPath.push(somePath);
+          this._dependencyPath.set(dep.id, somePath);
           this._svg.appendChild(somePath);
     }
 
-    _drawDependencies() {
-        //Create paths for the started dependency array
-        for (let i = 0; i < this._dependency.length; i++) {
-            this._drawArrows(this._dependency[i], i);
+    _linkItems(dep) {
+        for (const itemId of [dep.id_item_1, dep.id_item_2]) {
+            let linked = this._itemDependencies.get(itemId);
+            if (!linked) {
+                linked = new Set();
+                this._itemDependencies.set(itemId, linked);
+            }
+            linked.add(dep.id);
         }
     }
 
-    _drawArrows(dep, index) {
+    _unlinkItems(dep) {
+        for (const itemId of [dep.id_item_1, dep.id_item_2]) {
+            const linked = this._itemDependencies.get(itemId);
+            if (linked) {
+                linked.delete(dep.id);
+                if (linked.size === 0) {
+                    this._itemDependencies.delete(itemId);
+                    this._itemPositions.delete(itemId);
+                }
+            }
+        }
+    }
+
+    _drawDependencies() {
+        //Draw the paths of all dependencies
+        this._itemPositions.clear();
+        this.redraw();
+    }
+
+    /**
+     * Redraws the paths of the dependencies whose items moved since they were last drawn. Paths
+     * whose items are both out of the visible window are hidden instead.
+     */
+    redraw() {
+        if (this._dependency.size === 0)
+            return;
+        this._observeItems();
+        if (this._minItemHeightStale)
+            this._updateMinItemHeight();
+        const range = this._timeline.range;
+        const changedDependencies = new Set();
+        this._itemDependencies.forEach((linked, itemId) => {
+            const item = this._timeline.itemSet.items[itemId];
+            const position = item
+                ? [item.displayed, item.left, item.width, item.top, item.height, item.parent?.top, item.parent?.height].join()
+                : null;
+            if (this._itemPositions.get(itemId) !== position) {
+                this._itemPositions.set(itemId, position);
+                linked.forEach(depId => changedDependencies.add(depId));
+            }
+        });
+        if (changedDependencies.size === 0)
+            return;
+        changedDependencies.forEach(depId => {
+            const dep = this._dependency.get(depId);
+            const path = this._dependencyPath.get(depId);
+            const visible = this._isInWindow(dep, range);
+            path.style.display = visible ? "" : "none";
+            if (visible)
+                this._drawArrows(dep, path);
+        });
+    }
+
+    _isInWindow(dep, range) {
+        const item_1 = this._timeline.itemSet.items[dep.id_item_1];
+        const item_2 = this._timeline.itemSet.items[dep.id_item_2];
+        if (!item_1 || !item_2)
+            return false;
+        const start = range.start, end = range.end;
+        const startOf = (item) => item.data.start.valueOf();
+        const endOf = (item) => (item.data.end || item.data.start).valueOf();
+        // the path is out of the window when both items are on the same side of it
+        return !((endOf(item_1) < start && endOf(item_2) < start)
+            || (startOf(item_1) > end && startOf(item_2) > end));
+    }
+
+    _drawArrows(dep, path) {
         if( (this._timeline.itemsData.get(dep.id_item_1) !== null) && (this._timeline.itemsData.get(dep.id_item_2) !== null) ) {
             var bothItemsExist = true;
         } else {
@@ -110,8 +189,8 @@
             var item_2 = this._getItemPos(this._timeline.itemSet.items[dep.id_item_2]);
             // As demo, we put an arrow between item 0 and item1, from the one that is more on left to the one more on right.
             if (item_2.mid_x < item_1.mid_x) [item_1, item_2] = [item_2, item_1]; 
-            this._dependencyPath[index].setAttribute("id", dep.id);
-            this._dependencyPath[index].setAttribute(
+            path.setAttribute("id", dep.id);
+            path.setAttribute(
             "d",
             "M " +
                 item_1.right +
@@ -132,7 +211,13 @@
             );
             // Adding the title if property title has been added in the dependency
             if (dep.hasOwnProperty("title")) {
-                this._dependencyPath[index].innerHTML = "<title>" +dep.title +"</title>"
+                // set as text, titles may come from user data
+                let title = path.querySelector("title");
+                if (!title) {
+                    title = document.createElementNS("http://www.w3.org/2000/svg", "title");
+                    path.appendChild(title);
+                }
+                title.textContent = dep.title;
             }
         } 
     }
@@ -148,83 +233,144 @@
             right: left_x + item.width,
             bottom: top_y + item.height,
             mid_x: left_x + item.width / 2,
-            mid_y: item.top + this._minItemHeight / 2,
+            // with groups, item tops are relative to their group
+            mid_y: (this._bGroup ? item.parent.top : 0) + item.top + this._minItemHeight / 2,
             width: item.width,
             height: item.height,
         }
     }
 
     addArrow (dep) {
-        this._dependency.push(dep);
-        this._createPath();
+        this._addDependency(dep);
         this._timeline.redraw();
     }
 
+    _addDependency(dep) {
+        if (this._dependency.has(dep.id))
+            this._removeDependency(dep.id);
+        this._dependency.set(dep.id, dep);
+        this._createPath(dep);
+        this._linkItems(dep);
+        // forces the paths of both items to be drawn on the next redraw
+        this._itemPositions.delete(dep.id_item_1);
+        this._itemPositions.delete(dep.id_item_2);
+    }
+
+    _removeDependency(id) {
+        const dep = this._dependency.get(id);
+        if (!dep)
+            return;
+        this._dependency.delete(id);
+        this._unlinkItems(dep);
+        const path = this._dependencyPath.get(id);
+        this._dependencyPath.delete(id);
+        if (path)
+            path.remove();
+    }
+
     getArrow (id) {
-        for (let i = 0; i < this._dependency.length; i++) {
-            if (this._dependency[i].id == id) {
-                return this._dependency[i];
-            }
-        }
-        return null;
+        return this._dependency.get(id) || null;
     }
     
     //Función que recibe el id de una flecha y la elimina.
     removeArrow(id) {
-        for (let i = 0; i < this._dependency.length; i++) {
-            if (this._dependency[i].id == id) var index = i;
-        }
-
-        var list = document.querySelectorAll("#" +this._timeline.dom.container.id +" path");
-
-        this._dependency.splice(index, 1); //Elimino del array dependency
-        this._dependencyPath.splice(index, 1); //Elimino del array dependencyPath
-        
-        list[index].parentNode.removeChild(list[index]); //Lo elimino del dom
+        this._removeDependency(id);
     }
 
     //Función que recibe el id de un item y elimina la flecha.
     removeArrowbyItemId(id) {
-        let listOfRemovedArrows = [];
-        for (let i = 0; i < this._dependency.length; i++) {
-            if ( (this._dependency[i].id_item_1 == id) || (this._dependency[i].id_item_2 == id) ) {
-                listOfRemovedArrows.push(this._dependency[i].id);
-                this.removeArrow(this._dependency[i].id);
-                i--;
-            } 
-        }
+        const listOfRemovedArrows = Array.from(this._itemDependencies.get(id) || []);
+        listOfRemovedArrows.forEach(depId => this._removeDependency(depId));
         return listOfRemovedArrows;
     }
 
     _clearAllArrows(){
         this._svg.replaceChildren("");
-        this.dependencies = [];
-        this._dependencyPath = [];
+        this._dependency.clear();
+        this._dependencyPath.clear();
+        this._itemDependencies.clear();
+        this._itemPositions.clear();
         this._minItemHeight = null;
+        this._minItemHeightStale = true;
     }
 
+    /**
+     * Replaces the dependencies. Dependencies kept with the same items and title keep their path,
+     * only the added and changed ones are drawn.
+     */
     setDependencies(dependencies) {
-        if(this._dependencyPath.length > 0) {
-            this._clearAllArrows();
+        if (dependencies.length === 0) {
+            if (this._dependency.size > 0)
+                this._clearAllArrows();
+            return;
         }
-        
-        this._dependency = dependencies;
 
-        //Create paths for the started dependency array
-        for (let i = 0; i < this._dependency.length; i++) {
-            this._createPath();
+        const newIds = new Set();
+        for (const dep of dependencies) {
+            newIds.add(dep.id);
+            const current = this._dependency.get(dep.id);
+            if (!current || current.id_item_1 !== dep.id_item_1 || current.id_item_2 !== dep.id_item_2
+                || current.title !== dep.title)
+                this._addDependency(dep);
         }
+        for (const id of Array.from(this._dependency.keys())) {
+            if (!newIds.has(id))
+                this._removeDependency(id);
+        }
+
+        this.redraw();
+    }
+
+    /**
+     * Listens to the changes of the items of the timeline, following the timeline when its items
+     * are replaced.
+     */
+    _observeItems() {
+        const itemsData = this._timeline.itemsData;
+        if (itemsData === this._observedItems)
+            return;
+        if (this._observedItems)
+            this._observedItems.off("*", this._onItemsChanged);
+        if (itemsData)
+            itemsData.on("*", this._onItemsChanged);
+        this._observedItems = itemsData;
+        this._minItemHeightStale = true;
+    }
 
-        this._minItemHeight = this._getMinItemHeight();
+    _itemsChanged(event, properties) {
+        if (event === "update" && properties?.oldData) {
+            // moved items keep their height, only changes of their look can change it
+            const itemsData = this._timeline.itemsData;
+            const restyled = properties.oldData.some(old => {
+                const item = itemsData.get(old.id);
+                return !item || item.content !== old.content || item.className !== old.className
+                    || item.style !== old.style;
+            });
+            if (!restyled)
+                return;
+        }
+        this._minItemHeightStale = true;
+    }
 
-        if (!this._bGroup)
-            this._drawDependencies();
+    /**
+     * Measures the minimum item height again, once the items are rendered. Every path depends on
+     * it, so they are all redrawn when it changed.
+     */
+    _updateMinItemHeight() {
+        const minItemHeight = this._getMinItemHeight();
+        if (minItemHeight === Number.MAX_VALUE)
+            return;
+        this._minItemHeightStale = false;
+        if (minItemHeight !== this._minItemHeight) {
+            this._minItemHeight = minItemHeight;
+            this._itemPositions.clear();
+        }
     }
 
     _getMinItemHeight(){
         var minHeight = Number.MAX_VALUE;
         this._timeline.itemsData.forEach(item => {
-        let height = this._timeline.itemSet.items[item.id].height;    
+        let height = this._timeline.itemSet.items[item.id]?.height;
             if(height < minHeight){
                 minHeight = height;
             }
@@ -33,13 +33,13 @@ window.vcftimeline = {
 
     _createTimeline: function (container, itemsJson, groupsJson, optionsJson) {
         // parsed items
-        let parsedItems = JSON.parse(itemsJson);
+        let parsedItems = vcftimeline._decodeItems(itemsJson);
         let items;
         let groupItems = new DataSet();
         let bGroup = false;
         if (groupsJson != null) bGroup = true;
         if (bGroup) {
-            let parsedGroupItems = JSON.parse(groupsJson);
+            let parsedGroupItems = vcftimeline._parseJson(groupsJson);
             for (let i = 0; i < parsedGroupItems.length; i++) {
                 let nestedGroups = [];
                 let groupsNested = [];
@@ -99,13 +99,28 @@ window.vcftimeline = {
         // // Get options for timeline configuration
         let options = this._processOptions(container, optionsJson);
 
+        // A timeline created on a previous attach is destroyed with its listeners
+        if (container.timeline?._timeline)
+            container.timeline._timeline.destroy();
+        if (container.layoutWorker) {
+            container.layoutWorker.terminate();
+            container.layoutWorker = null;
+        }
+
+        // In canvas mode vis only draws the axis and the groups, items are painted on a canvas
+        container.canvasItems = container.canvasRendering ? items : null;
+        const visItems = container.canvasRendering ? new DataSet() : items;
+
         // Create Timeline
         let timeline;
         if (bGroup) {
-            timeline = new Timeline(container, items, groupItems, options);
-        } else timeline = new Timeline(container, items, options);
+            timeline = new Timeline(container, visItems, groupItems, options);
+        } else timeline = new Timeline(container, visItems, options);
 
         container.timeline = new Arrow(timeline, bGroup);
+        vcftimeline._applyDependencies(container);
+        if (container.canvasRendering)
+            vcftimeline._initCanvasRenderer(container);
 
         vcftimeline.updateGroupSubgroupStack(container, groupsJson);
 
@@ -191,7 +206,9 @@ window.vcftimeline = {
                     temp = uniqueValues.join(',');
                 }
             }
-            container.$server.onSelect(temp.replace(" ", ""));
+            const selectedIds = temp.replace(" ", "");
+            vcftimeline._schedule(container, "select", container.eventThrottle?.select,
+                () => container.$server.onSelect(selectedIds));
         });
 
         container.timeline._timeline.on('doubleClick', function (properties) {
@@ -252,13 +269,23 @@ window.vcftimeline = {
 
         container.timeline._timeline.on('rangechanged', function (properties) {
             const rangeChangedData = {
-                start: properties.start,
-                end: properties.end
+                start: vcftimeline._toLocalMillis(properties.start),
+                end: vcftimeline._toLocalMillis(properties.end),
+                width: container.timeline._timeline.body.domProps.center.width
             };
-            container.$server.updateWindowRangeChangedEvent(rangeChangedData);
+            vcftimeline._schedule(container, "rangechanged", container.eventThrottle?.rangeChanged,
+                () => container.$server.updateWindowRangeChangedEvent(rangeChangedData));
+            if (container.timeBucketOverview)
+                vcftimeline._schedule(container, "timebuckets", container.eventThrottle?.rangeChanged,
+                    () => vcftimeline.requestTimeBuckets(container));
             renderTimelineGroups(container);
         });
 
+        // Top of the first row of items in a group
+        const GROUP_OFFSET = 5;
+        // Smallest group stacked in the layout worker, smaller groups are not worth the round trip
+        const LAYOUT_WORKER_MIN_ITEMS = 100;
+
         /**
          * Filters and sorts items based on their subgroups and visibility.
          *
@@ -276,16 +303,17 @@ window.vcftimeline = {
                 return groups;
             }, {});
 
-            // Sort each subgroup by the start date
+            // Sort each subgroup by the start date, vis already converted the dates of its items
+            const time = (date) => date instanceof Date ? date.valueOf() : new Date(date).valueOf();
             Object.values(groupedItems).forEach(subgroup => {
-                subgroup.sort((a, b) => new Date(a.data.start) - new Date(b.data.start));
+                subgroup.sort((a, b) => time(a.data.start) - time(b.data.start));
             });
 
             // Sort subgroups by the earliest start date of their first item
             const sortedGroups = Object.entries(groupedItems).sort(([, groupA], [, groupB]) => {
                 const firstItemA = groupA[0]?.data.start || Infinity;
                 const firstItemB = groupB[0]?.data.start || Infinity;
-                return new Date(firstItemA) - new Date(firstItemB);
+                return time(firstItemA) - time(firstItemB);
             });
 
             // Flatten sorted groups into a single array of items
@@ -306,6 +334,7 @@ window.vcftimeline = {
          * @param {Object} group - The group object to which the items belong.
          * @param {HTMLElement} container - The container element that holds the group.
          * @param {number} OFFSET - The offset value to be added between items.
+         * @param {Array} [writes] - Queue receiving the DOM writes, applied right away if omitted.
          * @returns {number} The calculated height of the group after stacking the items.
          *
          * @example
@@ -327,64 +356,48 @@ window.vcftimeline = {
          * const OFFSET = 10;
          * const groupHeight = stackGroup(items, group, container, OFFSET);
          */
-        function stackGroup(items, group, container, OFFSET) {
+        function stackGroup(items, group, container, OFFSET, writes) {
             let groupHeight = OFFSET;
             const minHeight = (items.length > 0) ? OFFSET + items[0].height : group.props?.label?.height;
             let maxHeight = OFFSET;
             if (items.length > 0) {
                 let margin = container?.timeline?._timeline?.itemSet?.options?.margin ?? items[0]?.options?.margin;
 
+                const signature = stackSignature(items);
+                if (group.stackSignature !== signature) {
+                    // large groups are stacked in the worker, their items keep their positions until it answers
+                    if (container.layoutWorker && items.length >= LAYOUT_WORKER_MIN_ITEMS) {
+                        requestWorkerStack(container, items, group, signature, OFFSET);
+                        group.isReCalculateStack = false;
+                        return group.groupHeight || minHeight;
+                    }
+                    group.stackSignature = signature;
+                    group.isReCalculateStack = true;
+                }
+
                 for (let i = 0; i < items.length; i++) {
-                    items[i].top = null;
                     if(!items[i].displayed)
                         items[i].show()
                 }
-                let topMap = {};
-                const placedItems = [];
-                if (items[0].dom?.box) {
-                    items[0].dom.box.style.top = ((!items[0].stackTop) ? OFFSET : items[0].stackTop) + 'px';
-                    items[0].top = ((!items[0].stackTop) ? OFFSET : items[0].stackTop);
-                    if ((items[0].top + items[0].height) > maxHeight) {
-                        maxHeight = items[0].top + items[0].height;
-                    }
-                    placedItems.push(items[0]);
-                    const groupName = items[0].data.subgroup;
-                     if (groupName) {
-                         if (topMap[groupName] === undefined) {
-                                topMap[groupName] = items[0].top;
-                           }
-                      }
+                const geometry = items.map(stackGeometry);
+                maxHeight = computeStackTops(geometry, OFFSET, group.isReCalculateStack);
+                for (let i = 0; i < items.length; i++) {
+                    items[i].top = geometry[i].top;
+                    if (i > 0)
+                        items[i].stackTop = geometry[i].stackTop;
                 }
-
-                for (let i = 1; i < items.length; i++) {
-                    const current = items[i];
-                    if (current.dom?.box ) {// &&
-                        const groupName = current.data.subgroup;
-                        const groupTop = (groupName && topMap[groupName] !== undefined) ? topMap[groupName] : OFFSET;
-                        if(!current.stackTop || group.isReCalculateStack)
-                            calculateItemStuckTop(placedItems, current, margin, groupTop)
-                        current.top = current.stackTop;
-                        current.dom.box.style.top = current.stackTop + 'px';
-                         if (groupName) {
-                            if (topMap[groupName] === undefined) {
-                                topMap[groupName] = current.top;
-                            }
-                        }
+                layoutWrite(container, writes, () => {
+                    for (const item of items) {
+                        if (item.dom?.box)
+                            item.dom.box.style.top = item.top + 'px';
                     }
-
-                    const currentTop = current.top ? current.top : 0;
-                    if ((currentTop + current.height) > maxHeight) {
-                        maxHeight = currentTop + current.height;
-                    }
-                    // Add current item to placedItems for collision tracking
-                    placedItems.push(current);
-                }
+                });
 
                 groupHeight = Math.max(minHeight, maxHeight);
                 groupHeight = Math.ceil(groupHeight + margin.item.vertical / 2);
-                const groupHeightParsed = parseInt(group?.dom?.label?.style?.height ?? "0", 10);
                if (group.groupHeight || group.groupHeight !== groupHeight) {
-                    group._applyGroupHeight(groupHeight);
+                    const height = groupHeight;
+                    layoutWrite(container, writes, () => group._applyGroupHeight(height));
                     group.groupHeight = groupHeight;
                 }
                 group.isHightUpdate = true;
@@ -392,8 +405,9 @@ window.vcftimeline = {
                 groupHeight = Math.max(minHeight, maxHeight);
                 if (!group.groupHeight || group.groupHeight != groupHeight)
                 {
-                    group._applyGroupHeight(groupHeight);
-                    roup.groupHeight = groupHeight;
+                    const height = groupHeight;
+                    layoutWrite(container, writes, () => group._applyGroupHeight(height));
+                    group.groupHeight = groupHeight;
                 }
                 group.isHightUpdate = false;
             }
@@ -438,51 +452,299 @@ window.vcftimeline = {
         }
 
         /**
-         * Calculates and assigns the `top` position for an item in a stacked layout, avoiding collisions.
-         *
-         * @param {Array} items - Array of existing items for collision checks.
-         * @param {Object} current - The item for which `top` is being calculated. Contains:
-         *                           - `data.start`: Start date.
-         *                           - `data.end`: End date.
-         *                           - `top`: The current top position (will be modified).
-         *                           - `stackTop`: Final calculated top position.
-         *                           - `height`: Item height for positioning.
-         * @param {Object} margin - Optional margins. Defaults to `{ vertical: defaultTopMargin }`.
-         * @param {number} OFFSET - The initial top position for the item.
+         * Creates the index used to stack the items of a group. Placed items are kept in a treap
+         * ordered by their left position, where every node also holds the rightmost end of its
+         * subtree, so placing an item takes O(log n) and the k items overlapping an item
+         * horizontally are found in O((k + 1) log n), whatever the widths of the other items.
          *
-         * @returns {void} - The function updates `current.top` and `current.stackTop`.
+         * The top of a new item is computed like the previous quadratic search did: starting at
+         * the given offset, the item moves below the first placed item (in placement order) it
+         * collides with, until it collides with none. Tops only increase while searching, so the
+         * candidates are swept by top, and a heap ordered by placement keeps the candidates that
+         * may still collide, giving the same result in O(k log k) once the neighbours are found.
          *
-         * @example
-         * calculateItemStuckTop(existingItems, newItem, { vertical: 5 }, 10);
+         * @returns {Object} - The index, with `place(item)` and `findTop(item, OFFSET)` functions.
          */
-        function calculateItemStuckTop(items, current, margin, OFFSET) {
-            const defaultMargin = (margin?.item || { vertical: OFFSET });
-            const currentStart = current.data.start.getTime();
-            const currentEnd = current.data.end.getTime();
+        function createStackIndex() {
+            const EPSILON = 0.1;
+            const round = (value) => Math.round(value * 10) / 10;
+            // root of the treap of the placed items, ordered by rounded left then placement
+            let root = null;
+            let placedCount = 0;
+
+            function updateMaxRight(node) {
+                node.maxRight = node.right;
+                if (node.lower && node.lower.maxRight > node.maxRight)
+                    node.maxRight = node.lower.maxRight;
+                if (node.higher && node.higher.maxRight > node.maxRight)
+                    node.maxRight = node.higher.maxRight;
+            }
 
-            current.top = OFFSET;
+            function insert(node, added) {
+                if (!node)
+                    return added;
+                // equal lefts are placed after the existing ones, keeping the placement order
+                if (added.left < node.left) {
+                    node.lower = insert(node.lower, added);
+                    if (node.lower.priority > node.priority) {
+                        const lower = node.lower;
+                        node.lower = lower.higher;
+                        lower.higher = node;
+                        updateMaxRight(node);
+                        node = lower;
+                    }
+                } else {
+                    node.higher = insert(node.higher, added);
+                    if (node.higher.priority > node.priority) {
+                        const higher = node.higher;
+                        node.higher = higher.lower;
+                        higher.lower = node;
+                        updateMaxRight(node);
+                        node = higher;
+                    }
+                }
+                updateMaxRight(node);
+                return node;
+            }
+
+            function place(item) {
+                if (item.top === null || item.top === undefined)
+                    return;
+                const left = round(item.left);
+                const width = round(item.width);
+                root = insert(root, {
+                    item: item,
+                    order: placedCount++,
+                    left: left,
+                    width: width,
+                    right: left + width,
+                    maxRight: left + width,
+                    priority: Math.random(),
+                    lower: null,
+                    higher: null,
+                });
+            }
 
-            let collidingItem;
-            do {
-                collidingItem = null;
+            // adds in left order the entries starting before `to` and ending after `from`
+            function collect(node, from, to, current, neighbours) {
+                if (!node || node.maxRight <= from)
+                    return;
+                collect(node.lower, from, to, current, neighbours);
+                if (node.left + EPSILON >= to)
+                    return;
+                if (node.item !== current && node.right > from)
+                    neighbours.push(node);
+                collect(node.higher, from, to, current, neighbours);
+            }
 
-                for (const previous of items) {
-                    const previousStart = previous.data.start.getTime();
-                    const previousEnd = previous.data.end.getTime();
+            function horizontalNeighbours(current) {
+                const left = round(current.left);
+                const width = round(current.width);
+                const neighbours = [];
+                collect(root, left + EPSILON, left + width, current, neighbours);
+                return neighbours;
+            }
 
-                    if (previous.top !== null && previous !== current && collision(current, previous, defaultMargin)) {
-                        collidingItem = previous;
+            function findTop(current, OFFSET) {
+                const height = round(current.height);
+                const candidates = horizontalNeighbours(current)
+                    .map(entry => ({
+                        order: entry.order,
+                        top: round(entry.item.top),
+                        bottom: round(entry.item.top) + round(entry.item.height),
+                        item: entry.item,
+                    }))
+                    .sort((a, b) => a.top - b.top);
+
+                // min heap by placement order of the candidates whose top is reached
+                const heap = [];
+                const push = (candidate) => {
+                    heap.push(candidate);
+                    let i = heap.length - 1;
+                    while (i > 0) {
+                        const parent = (i - 1) >> 1;
+                        if (heap[parent].order <= heap[i].order)
+                            break;
+                        [heap[parent], heap[i]] = [heap[i], heap[parent]];
+                        i = parent;
+                    }
+                };
+                const pop = () => {
+                    const last = heap.pop();
+                    if (heap.length > 0) {
+                        heap[0] = last;
+                        let i = 0;
+                        for (;;) {
+                            const left = 2 * i + 1, right = left + 1;
+                            let smallest = i;
+                            if (left < heap.length && heap[left].order < heap[smallest].order)
+                                smallest = left;
+                            if (right < heap.length && heap[right].order < heap[smallest].order)
+                                smallest = right;
+                            if (smallest === i)
+                                break;
+                            [heap[smallest], heap[i]] = [heap[i], heap[smallest]];
+                            i = smallest;
+                        }
+                    }
+                };
+
+                let top = OFFSET;
+                let next = 0;
+                for (;;) {
+                    const roundedTop = round(top);
+                    while (next < candidates.length && candidates[next].top <= roundedTop + height)
+                        push(candidates[next++]);
+                    // tops only increase, a candidate ending above the item never collides again
+                    while (heap.length > 0 && heap[0].bottom < roundedTop)
+                        pop();
+                    if (heap.length === 0)
+                        return top;
+                    top = heap[0].item.top + heap[0].item.height + 1;
+                }
+            }
 
-                        // Increment current.top only if the current position still causes a collision
-                        const potentialTop = previous.top + previous.height + 1;
-                        current.top = collision(current, previous, defaultMargin) ? potentialTop : current.top;
+            return {place: place, findTop: findTop};
+        }
 
-                        break;
+        /**
+         * Returns the values of an item used to stack it, detached from the item so the stacking
+         * can run without touching the DOM, or in a worker.
+         */
+        function stackGeometry(item) {
+            return {
+                left: item.left,
+                width: item.width,
+                height: item.height,
+                subgroup: item.data.subgroup,
+                stackTop: item.stackTop,
+                hasBox: !!item.dom?.box,
+                top: null,
+            };
+        }
+
+        /**
+         * Stacks the items of a group, given as geometries in stacking order. The first item keeps
+         * its stacked top, every other item is placed below the items it collides with, starting
+         * at the top of the first item of its subgroup. Tops already computed are kept unless
+         * `recalculate` is set.
+         *
+         * Only depends on its arguments and on createStackIndex, so it also runs in the layout
+         * worker.
+         *
+         * @param {Array} geometry - The geometries of the items, their `top` and `stackTop` are updated.
+         * @param {number} OFFSET - The top of the first row.
+         * @param {boolean} recalculate - Whether the tops already computed are computed again.
+         * @returns {number} - The bottom of the lowest item.
+         */
+        function computeStackTops(geometry, OFFSET, recalculate) {
+            const stackIndex = createStackIndex();
+            const topMap = {};
+            let maxHeight = OFFSET;
+            for (let i = 0; i < geometry.length; i++) {
+                const current = geometry[i];
+                if (current.hasBox) {
+                    const groupName = current.subgroup;
+                    if (i === 0) {
+                        current.top = (!current.stackTop) ? OFFSET : current.stackTop;
+                    } else {
+                        const groupTop = (groupName && topMap[groupName] !== undefined) ? topMap[groupName] : OFFSET;
+                        if (!current.stackTop || recalculate)
+                            current.stackTop = stackIndex.findTop(current, groupTop);
+                        current.top = current.stackTop;
                     }
+                    if (groupName && topMap[groupName] === undefined)
+                        topMap[groupName] = current.top;
+                }
+                if (current.hasBox || i > 0) {
+                    const currentTop = current.top ? current.top : 0;
+                    if ((currentTop + current.height) > maxHeight)
+                        maxHeight = currentTop + current.height;
                 }
-            } while (collidingItem);
+                // Add current item to the index for collision tracking
+                stackIndex.place(current);
+            }
+            return maxHeight;
+        }
 
-            current.stackTop = current.top;
+        /**
+         * Sends the geometries of a group to the layout worker, unless the same items are already
+         * being stacked there.
+         */
+        function requestWorkerStack(container, items, group, signature, OFFSET) {
+            if (group.pendingStackSignature === signature)
+                return;
+            group.pendingStackSignature = signature;
+            container.layoutWorker.postMessage({
+                groupId: group.groupId,
+                signature: signature,
+                OFFSET: OFFSET,
+                geometry: items.map(stackGeometry),
+            });
+        }
+
+        /**
+         * Creates the worker stacking large groups off the main thread, from the source of the
+         * stacking functions, or returns null if workers cannot be created, e.g. because of a
+         * content security policy.
+         */
+        function createLayoutWorker(container) {
+            const source = createStackIndex.toString() + "\n" + computeStackTops.toString() + "\n"
+                + "self.onmessage = function (event) {\n"
+                + "    const request = event.data;\n"
+                + "    const maxHeight = computeStackTops(request.geometry, request.OFFSET, true);\n"
+                + "    self.postMessage({groupId: request.groupId, signature: request.signature,\n"
+                + "        stackTops: request.geometry.map(g => g.stackTop), maxHeight: maxHeight});\n"
+                + "};\n";
+            let worker;
+            try {
+                const url = URL.createObjectURL(new Blob([source], {type: "text/javascript"}));
+                worker = new Worker(url);
+                URL.revokeObjectURL(url);
+            } catch (e) {
+                return null;
+            }
+            worker.onmessage = (event) => applyWorkerStack(container, event.data);
+            worker.onerror = () => {
+                worker.terminate();
+                container.layoutWorker = null;
+            };
+            return worker;
+        }
+
+        /**
+         * Applies the tops computed by the layout worker, if the items of the group did not change
+         * meanwhile, then lays the group out again from these tops in a single write pass.
+         */
+        function applyWorkerStack(container, result) {
+            const group = container.timeline?._timeline.itemSet.groups[result.groupId];
+            if (!group || group.pendingStackSignature !== result.signature)
+                return;
+            group.pendingStackSignature = null;
+            const items = filterItems(Object.values(group.items));
+            if (stackSignature(items) !== result.signature)
+                return;
+            for (let i = 1; i < items.length; i++)
+                items[i].stackTop = result.stackTops[i];
+            group.stackSignature = result.signature;
+            if (group.isVisible)
+                renderGroup(container, group);
+        }
+
+        /**
+         * Returns a signature of the items of a group, changing whenever an item is added, removed,
+         * moved, resized or changes height, so stacked positions can be kept until then.
+         *
+         * @param {Array} items - The items of the group, in stacking order.
+         * @returns {string} - The signature of the items.
+         */
+        function stackSignature(items) {
+            let signature = "";
+            for (const item of items) {
+                signature += item.id + ":" + item.data.start.valueOf() + ":" + item.data.end?.valueOf()
+                    + ":" + item.height + ":" + item.data.subgroup + ";";
+            }
+            return signature;
         }
 
         /**
@@ -493,6 +755,7 @@ window.vcftimeline = {
          * @param {boolean} isReset - Flag indicating whether to reset the position of the items.
          *                            - `true`: Reset the positions.
          *                            - `false`: Adjust the positions without resetting.
+         * @param {Array} [writes] - Queue receiving the DOM writes, applied right away if omitted.
          * @returns {number} The calculated height of the group after adjustment.
          *
          * @example
@@ -507,11 +770,10 @@ window.vcftimeline = {
          * const isReset = true;
          * const groupHeight = unStackGroup(group, OFFSET, isReset);
          */
-        function unStackGroup(items, group, OFFSET, isReset) {
+        function unStackGroup(items, group, OFFSET, isReset, writes) {
             if(!items || !group)
                 return;
             const minHeight = (items.length > 0) ? (OFFSET + items[0].height) : group.props?.label?.height;
-            let currentHeight = group.dom.label.offsetHeight;
             let maxHeight = (items.length > 0 && items[0]?.top != null && items[0]?.height != null) ? items[0].top + items[0].height : OFFSET;
             let isReCalculateUnStack = (group.topMap && group.topMap['topMapItemSize'] !== items.length) || group.isReCalculateUnStack
             let topMap = group.topMap && !isReCalculateUnStack ? group.topMap : {};
@@ -544,17 +806,14 @@ window.vcftimeline = {
                    if (isReset) {
                        if (i === 1) {
                            if (prevItem.data.subgroup)
-                           {
                                prevItem.top = calculateItemUnStackTop(prevItem.data.subgroup, group, null, prevItem, OFFSET, heightMap);
-                               prevItem.dom.box.style.top = `${prevItem.top}px`;
-                           }
                            else
-                           {
-                               prevItem.dom.box.style.top = `${currentItem.top}px`;
                                prevItem.top = currentItem.top;
-                           }
+                           const top = prevItem.top;
+                           layoutWrite(container, writes, () => prevItem.dom.box.style.top = `${top}px`);
                        }
-                       currentItem.dom.box.style.top = `${currentItem.top}px`;
+                       const top = currentItem.top;
+                       layoutWrite(container, writes, () => currentItem.dom.box.style.top = `${top}px`);
                    }
                    // Update maxHeight if current item exceeds it
                    const currentTop = currentItem.top || 0;
@@ -567,9 +826,9 @@ window.vcftimeline = {
             let margin = container?.timeline?._timeline?.itemSet?.options?.margin ?? items[0]?.options?.margin;
             let groupHeight = (items.length > 1) ?  (maxHeight) : (minHeight);
             groupHeight = Math.ceil(groupHeight + margin.item.vertical / 2);
-            const groupHeightParsed = parseInt(group?.dom?.label?.style?.height ?? "0", 10);
             if (!group.groupHeight || group.groupHeight !== groupHeight) {
-                group._applyGroupHeight(groupHeight);
+                const height = groupHeight;
+                layoutWrite(container, writes, () => group._applyGroupHeight(height));
                 group.groupHeight = groupHeight;
              }
             group.isHightUpdate = true;
@@ -612,14 +871,14 @@ window.vcftimeline = {
                         } else {
                             // Default to the maximum top in heightMap
                             itemTop = Math.max(...Object.keys(heightMap).map(Number)) || OFFSET;
-                            // Adjust with the current item's height
-                            const itemHeight = currentItem?.dom?.box?.offsetHeight || 0;
+                            // Adjust with the current item's height, as measured by vis on its last redraw
+                            const itemHeight = currentItem?.height || 0;
                             itemTop += itemHeight + 1;
                         }
                         topMap[groupName] = itemTop;
                     } else {
                         // Handle cases where heightMap is not available
-                        const itemHeight = currentItem?.dom?.box?.offsetHeight || 0;
+                        const itemHeight = currentItem?.height || 0;
                         itemTop += itemHeight + 1;
                         topMap[groupName] = itemTop;
                     }
@@ -630,7 +889,7 @@ window.vcftimeline = {
                 // Handle 'allgroup' case
                 if (!Number.isFinite(topMap['allgroup'])) {
                     if (Object.keys(topMap).length > 1) {
-                        const itemHeight = prevItem?.dom?.box?.offsetHeight || 0;
+                        const itemHeight = prevItem?.height || 0;
                         topMap['allgroup'] = itemTop + itemHeight + 1;
                     } else {
                         topMap['allgroup'] = OFFSET;
@@ -665,12 +924,79 @@ window.vcftimeline = {
         }
 
         function isGroupVisible(group, range, margin) {
+            layoutRead(container);
             return group.dom.label.offsetTop <= range.body.domProps.centerContainer.height - range.body.domProps.scrollTop + margin.axis && group.dom.label.offsetTop + group.height + margin.axis >= -range.body.domProps.scrollTop;
         }
 
+        /**
+         * Returns the groups intersecting the viewport. The offsets of the groups are computed from
+         * the `top` and `height` vis already keeps for every group, in display order, so no layout
+         * is read for the groups out of the viewport. The walk is linear in the number of groups
+         * above the bottom of the viewport, as vis may change any group height between two passes.
+         *
+         * @param {Object} container - The container object containing the timeline.
+         * @param {Object} range - The range of the timeline, holding the body dom properties.
+         * @param {Object} margin - The margin options of the item set.
+         * @returns {Array} - The visible groups, in display order.
+         */
+        function getGroupsInViewport(container, range, margin) {
+            const itemSet = container.timeline._timeline.itemSet;
+            const viewTop = -range.body.domProps.scrollTop - margin.axis;
+            const viewBottom = range.body.domProps.centerContainer.height - range.body.domProps.scrollTop + margin.axis;
+            const visible = [];
+            let lastBottom = 0;
+            for (const groupId of itemSet.groupIds) {
+                const group = itemSet.groups[groupId];
+                if (!group || !group.dom?.label)
+                    continue;
+                const top = Math.max(typeof group.top === "number" ? group.top : lastBottom, lastBottom);
+                if (top > viewBottom)
+                    break;
+                lastBottom = top + (group.height || 0);
+                if (lastBottom >= viewTop)
+                    visible.push(group);
+            }
+            return visible;
+        }
+
+        /**
+         * Records a read of the layout. In debug mode, a read following a write of the same pass
+         * is counted as a forced synchronous layout in `container.layoutStats`.
+         */
+        function layoutRead(container) {
+            const stats = container.layoutStats;
+            if (stats) {
+                stats.reads++;
+                if (stats.pendingWrites) {
+                    stats.forcedLayouts++;
+                    stats.pendingWrites = false;
+                }
+            }
+        }
+
+        /**
+         * Queues a DOM write in the write phase of the current pass, or applies it right away
+         * when the caller is not part of a pass.
+         */
+        function layoutWrite(container, writes, write) {
+            if (writes) {
+                writes.push(write);
+                return;
+            }
+            write();
+            if (container.layoutStats) {
+                container.layoutStats.writes++;
+                container.layoutStats.pendingWrites = true;
+            }
+        }
+
         /**
          * Processes the groups in the timeline, stacks or unstacks items within groups, and handles the display of toggle buttons.
          *
+         * The pass runs in three phases so the layout is computed at most once: the visible groups
+         * are first measured, then the items of every visible group are stacked without touching
+         * the DOM, and all the resulting writes are finally applied together.
+         *
          * @param {Object} container - The container object containing the timeline and its settings.
          *
          */
@@ -682,71 +1008,135 @@ window.vcftimeline = {
             const visibleGroups = container.timeline._timeline.itemSet.getVisibleGroups();
             const range = container.timeline._timeline.range;
             const margin = container?.timeline?._timeline?.itemSet?.options?.margin;
-            const OFFSET = 5;
-            // Loop through each group
-            Object.values(groups).forEach(group => {
-                let items = Object.values(group.items);
-                group.isVisible = isGroupVisible(group, range, margin)
-                if (!group.isVisible) {
-                    return;
-                }
-                const shouldStack = (typeof group.isCollapsed === "undefined") ? container.timeline._timeline.itemSet.options.stack : !group.isCollapsed;
-                items = filterItems(items);
 
-                // Set initial collapse state if not defined
-                if (group.isCollapsed === undefined || group.isCollapsed === null) {
-                    group.isCollapsed = !shouldStack;
-                }
+            if (container.layoutInWorker && !container.layoutWorker && !container.layoutWorkerUnavailable) {
+                container.layoutWorker = createLayoutWorker(container);
+                container.layoutWorkerUnavailable = !container.layoutWorker;
+            } else if (!container.layoutInWorker && container.layoutWorker) {
+                container.layoutWorker.terminate();
+                container.layoutWorker = null;
+            }
 
-                if (shouldStack) {
-                    if(items.length === 0 && !group.isHightUpdate) {
-                        return;
-                    }
-                    const groupHeight = stackGroup(items, group, container, OFFSET);
-                    const isShowButton = items.length > 1 && (groupHeight > (items[0].height + (OFFSET * 2)));
-                    const button = toggleButtonDisplay(isShowButton, group);
-
-                    if (isShowButton && group.dom.label && !button) {
-                        const button = document.createElement("button");
-
-                        // Set button class based on the collapse state
-                        button.classList.add(group.isCollapsed ? "icon-collapsed" : "icon-expanded");
-                        button.groupID = group.groupId;
-                        group.dom.label.appendChild(button);
-
-                        // Event listener for button click
-                        button.addEventListener("click", (event) => {
-                            const groupID = event.target.groupID;
-                            const group = container.timeline._timeline.itemSet.groups[groupID];
-                            group.isShowHideCall = true;
-                            items = Object.values(group.items);
-                            items = filterItems(items);
-
-                            if (group.isCollapsed || button.classList.contains('icon-collapsed')) {
-                                button.classList.replace("icon-collapsed", "icon-expanded");
-                                group.isCollapsed = false;
-                                stackGroup(items, group, container, OFFSET);
-                            } else {
-                                button.classList.replace("icon-expanded", "icon-collapsed");
-                                group.isCollapsed = true;
-                                unStackGroup(items, group, OFFSET, true);
-                            }
-                            event.stopPropagation();
-                        });
+            if (container.layoutStats) {
+                container.layoutStats.passes++;
+                container.layoutStats.pendingWrites = false;
+            }
+
+            // Read phase
+            let visible;
+            if (container.virtualizeGroups) {
+                visible = getGroupsInViewport(container, range, margin);
+                // only the groups that were visible on the previous pass need their flag reset
+                (container.visibleGroups || []).forEach(group => group.isVisible = false);
+                visible.forEach(group => group.isVisible = true);
+                container.visibleGroups = visible;
+            } else {
+                visible = [];
+                Object.values(groups).forEach(group => {
+                    group.isVisible = isGroupVisible(group, range, margin)
+                    if (group.isVisible) {
+                        visible.push(group);
                     }
-                } else {
-                    // When it does not stack and if items overlap, add some space at the top
-                    const groupHeight = (items.length > 1) ? unStackGroup(items, group, OFFSET, group.isCollapsed) : 0;
-                    const isShowButton = (items.length > 1);// && (groupHeight > (items[0].height + (OFFSET * 2)));
-                    const button = toggleButtonDisplay(isShowButton, group);
+                });
+            }
+
+            // Compute phase
+            const writes = [];
+            visible.forEach(group => renderGroup(container, group, writes));
+
+            // Write phase
+            for (const write of writes) {
+                write();
+            }
+            if (container.layoutStats) {
+                container.layoutStats.writes += writes.length;
+                container.layoutStats.pendingWrites = writes.length > 0;
+            }
+        }
+
+        /**
+         * Stacks or unstacks the items of a visible group and shows its toggle button.
+         *
+         * @param {Object} container - The container object containing the timeline and its settings.
+         * @param {Object} group - The group to render.
+         * @param {Array} [writes] - Queue receiving the DOM writes, applied right away if omitted.
+         */
+        function renderGroup(container, group, writes) {
+            const OFFSET = GROUP_OFFSET;
+            let items = Object.values(group.items);
+            const shouldStack = (typeof group.isCollapsed === "undefined") ? container.timeline._timeline.itemSet.options.stack : !group.isCollapsed;
+            items = filterItems(items);
+
+            // Set initial collapse state if not defined
+            if (group.isCollapsed === undefined || group.isCollapsed === null) {
+                group.isCollapsed = !shouldStack;
+            }
+
+            if (shouldStack) {
+                if(items.length === 0 && !group.isHightUpdate) {
+                    return;
                 }
-            });
+                const groupHeight = stackGroup(items, group, container, OFFSET, writes);
+                const isShowButton = items.length > 1 && (groupHeight > (items[0].height + (OFFSET * 2)));
+                layoutWrite(container, writes, () => renderToggleButton(isShowButton));
+            } else {
+                // When it does not stack and if items overlap, add some space at the top
+                const groupHeight = (items.length > 1) ? unStackGroup(items, group, OFFSET, group.isCollapsed, writes) : 0;
+                const isShowButton = (items.length > 1);// && (groupHeight > (items[0].height + (OFFSET * 2)));
+                layoutWrite(container, writes, () => toggleButtonDisplay(isShowButton, group));
+            }
+
+            function renderToggleButton(isShowButton) {
+                const button = toggleButtonDisplay(isShowButton, group);
+
+                if (isShowButton && group.dom.label && !button) {
+                    const button = document.createElement("button");
+
+                    // Set button class based on the collapse state
+                    button.classList.add(group.isCollapsed ? "icon-collapsed" : "icon-expanded");
+                    button.groupID = group.groupId;
+                    group.dom.label.appendChild(button);
+
+                    // Event listener for button click
+                    button.addEventListener("click", (event) => {
+                        const groupID = event.target.groupID;
+                        const group = container.timeline._timeline.itemSet.groups[groupID];
+                        group.isShowHideCall = true;
+                        items = Object.values(group.items);
+                        items = filterItems(items);
+
+                        if (group.isCollapsed || button.classList.contains('icon-collapsed')) {
+                            button.classList.replace("icon-collapsed", "icon-expanded");
+                            group.isCollapsed = false;
+                            stackGroup(items, group, container, OFFSET);
+                        } else {
+                            button.classList.replace("icon-expanded", "icon-collapsed");
+                            group.isCollapsed = true;
+                            unStackGroup(items, group, OFFSET, true);
+                        }
+                        event.stopPropagation();
+                    });
+                }
+            }
         }
 
-        container.timeline._timeline.on("changed", () => {
+        const layout = () => {
             renderTimelineGroups(container);
-            this._updateConnections(container, false);
+            // only the connectors whose items moved are redrawn
+            container.timeline.redraw();
             this._updateTimelineHeight(container);
+        };
+        container.timeline._timeline.on("changed", () => {
+            if (!container.layoutOnAnimationFrame) {
+                layout();
+            } else if (!container.layoutFrame) {
+                // every change of the frame is laid out once, right before it is painted
+                container.layoutFrame = requestAnimationFrame(() => {
+                    container.layoutFrame = null;
+                    if (container.timeline)
+                        layout();
+                });
+            }
         });
 
         let startX, startY = -10000;
@@ -764,6 +1154,11 @@ window.vcftimeline = {
                 window.vcftimeline.startPointTime = startPointTime;
                 window.vcftimeline.isMouseDown = true;
             }
+            if (e.event.shiftKey) {
+                // items do not move while selecting, their positions are indexed once per drag
+                container.selectionIndex = vcftimeline._buildSelectionIndex(container);
+                container.rubberBandSelection = null;
+            }
         });
 
         container.timeline._timeline.on('mouseMove', (e) => {
@@ -785,6 +1180,7 @@ window.vcftimeline = {
         container.timeline._timeline.on("mouseUp", (e) => {
             let selectionElement = document.getElementById("selection");
             selectionElement.style.display = "none";
+            container.selectionIndex = null;
             endPointTime = e.time.getTime();
             if (!container.timeline._timeline.range.options.moveable) container.timeline._timeline.range.options.moveable = true;
 
@@ -797,7 +1193,8 @@ window.vcftimeline = {
                         window.vcftimeline.endPointTime = endPointTime;
                     }
                     if (e.group && e.what !== 'item') {
-                        container.$server.jsAddItem(window.vcftimeline.startPointTime, window.vcftimeline.endPointTime, e.group, true);
+                        container.$server.jsAddItem(vcftimeline._toLocalMillis(window.vcftimeline.startPointTime),
+                            vcftimeline._toLocalMillis(window.vcftimeline.endPointTime), e.group, true);
                     }
                 }
             }
@@ -814,126 +1211,209 @@ window.vcftimeline = {
             }
         });
 
-        setInterval(function () {
-            let isDragging = container.timeline._timeline.itemSet.touchParams.itemIsDragging;
+        /**
+         * Scrolls the window while an item is dragged or resized over its borders. Runs on
+         * animation frames between drag start and drag end only, stepping every
+         * AUTO_SCROLL_INTERVAL milliseconds, and stops once the container is detached.
+         */
+        const AUTO_SCROLL_INTERVAL = 100;
+        let autoScrollFrame = null;
+        let lastAutoScroll = 0;
+        const autoScrollStep = () => {
             let isResizingRight = container.timeline._timeline.itemSet.touchParams.dragRightItem;
             let isResizingLeft = container.timeline._timeline.itemSet.touchParams.dragLeftItem;
             let isResizing = isResizingRight !== isResizingLeft;
-            if (isDragging) {
-                let multiple = false;
-                if (container.timeline._timeline.itemSet.touchParams.itemProps) multiple = container.timeline._timeline.itemSet.touchParams.itemProps.length > 1;
-                let itemsInitialXMap = null;
-                selectedItems = null;
+            let multiple = false;
+            if (container.timeline._timeline.itemSet.touchParams.itemProps) multiple = container.timeline._timeline.itemSet.touchParams.itemProps.length > 1;
+            let itemsInitialXMap = null;
+            selectedItems = null;
+            if (multiple) {
+                itemsInitialXMap = new Map();
+                container.timeline._timeline.itemSet.touchParams.itemProps.forEach((obj) => {
+                    itemsInitialXMap.set(obj.data.id, obj.initialX);
+                });
+                selectedItems = Array.from(container.timeline._timeline.itemSet.touchParams.itemProps, (obj) => obj.item);
+            }
+
+            let ix = container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX;
+            let item = container.timeline._timeline.itemSet.touchParams.selectedItem;
+            let range = container.timeline._timeline.getWindow();
+            let widthInPixels = container.timeline._timeline.body.domProps.lastWidth;
+            let centerOfTimelineInPixels = container.timeline._timeline.dom.container.offsetLeft + container.timeline._timeline.body.domProps.lastWidth / 2;
+            let mouseAtLeftOfCenter = mouseX < centerOfTimelineInPixels;
+            let widthInMilliseconds = range.end.valueOf() - range.start.valueOf();
+
+            // handle autoscaling when moving, not resizing
+            if (mouseAtLeftOfCenter && item.data.start <= range.start && (options.min === undefined || range.start > new Date(options.min)) && !isResizing) {
+                window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds);
                 if (multiple) {
-                    itemsInitialXMap = new Map();
-                    container.timeline._timeline.itemSet.touchParams.itemProps.forEach((obj) => {
-                        itemsInitialXMap.set(obj.data.id, obj.initialX);
+                    container.timeline._timeline.itemSet.touchParams.itemProps.forEach((ip) => {
+                        let id = ip.data.id;
+                        let initialXValue = itemsInitialXMap.get(id);
+                        ip.initialX = initialXValue + widthInPixels / 50;
                     });
-                    selectedItems = Array.from(container.timeline._timeline.itemSet.touchParams.itemProps, (obj) => obj.item);
-                }
-
-                let ix = container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX;
-                let item = container.timeline._timeline.itemSet.touchParams.selectedItem;
-                let range = container.timeline._timeline.getWindow();
-                let widthInPixels = container.timeline._timeline.body.domProps.lastWidth;
-                let centerOfTimelineInPixels = container.timeline._timeline.dom.container.offsetLeft + container.timeline._timeline.body.domProps.lastWidth / 2;
-                let mouseAtLeftOfCenter = mouseX < centerOfTimelineInPixels;
-                let widthInMilliseconds = range.end.valueOf() - range.start.valueOf();
-
-                // handle autoscaling when moving, not resizing
-                if (mouseAtLeftOfCenter && item.data.start <= range.start && (options.min === undefined || range.start > new Date(options.min)) && !isResizing) {
-                    window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds);
-                    if (multiple) {
-                        container.timeline._timeline.itemSet.touchParams.itemProps.forEach((ip) => {
-                            let id = ip.data.id;
-                            let initialXValue = itemsInitialXMap.get(id);
-                            ip.initialX = initialXValue + widthInPixels / 50;
-                        });
-                        if (selectedItems)
-                            selectedItems.forEach((selectedItem) => {
-                                selectedItem.data.start = new Date(selectedItem.data.start.valueOf() - widthInMilliseconds / 50);
-                                selectedItem.data.end = new Date(selectedItem.data.end.valueOf() - widthInMilliseconds / 50);
-                            });
-                    } else {
-                        container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX = ix + widthInPixels / 50;
-                        item.data.start = new Date(item.data.start.valueOf() - widthInMilliseconds / 50);
-                        item.data.end = new Date(item.data.end.valueOf() - widthInMilliseconds / 50);
-                    }
-                } else if (!mouseAtLeftOfCenter && item.data.end >= range.end && (options.max === undefined || range.end < new Date(options.max)) && !isResizing) {
-                    window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds);
-                    if (multiple) {
-                        container.timeline._timeline.itemSet.touchParams.itemProps.forEach((ip) => {
-                            let id = ip.data.id;
-                            let initialXValue = itemsInitialXMap.get(id);
-                            ip.initialX = initialXValue - widthInPixels / 50;
+                    if (selectedItems)
+                        selectedItems.forEach((selectedItem) => {
+                            selectedItem.data.start = new Date(selectedItem.data.start.valueOf() - widthInMilliseconds / 50);
+                            selectedItem.data.end = new Date(selectedItem.data.end.valueOf() - widthInMilliseconds / 50);
                         });
-                        if (selectedItems)
-                            selectedItems.forEach((selectedItem) => {
-                                selectedItem.data.start = new Date(selectedItem.data.start.valueOf() + widthInMilliseconds / 50);
-                                selectedItem.data.end = new Date(selectedItem.data.end.valueOf() + widthInMilliseconds / 50);
-                            });
-                    } else {
-                        container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX = ix - widthInPixels / 50;
-                        item.data.start = new Date(item.data.start.valueOf() + widthInMilliseconds / 50);
-                        item.data.end = new Date(item.data.end.valueOf() + widthInMilliseconds / 50);
-                    }
-                }
-
-                // auto scroll to left when resizing left
-                if (item.data.start <= range.start && (options.min === undefined || range.start > new Date(options.min)) && isResizingLeft) {
-                    window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds, widthInPixels, ix);
+                } else {
+                    container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX = ix + widthInPixels / 50;
                     item.data.start = new Date(item.data.start.valueOf() - widthInMilliseconds / 50);
+                    item.data.end = new Date(item.data.end.valueOf() - widthInMilliseconds / 50);
                 }
-
-                // auto scroll to right when resizing left
-                if (item.data.start >= range.end && (options.max === undefined || range.end < new Date(options.max)) && isResizingLeft) {
-                    window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds, widthInPixels, ix);
+            } else if (!mouseAtLeftOfCenter && item.data.end >= range.end && (options.max === undefined || range.end < new Date(options.max)) && !isResizing) {
+                window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds);
+                if (multiple) {
+                    container.timeline._timeline.itemSet.touchParams.itemProps.forEach((ip) => {
+                        let id = ip.data.id;
+                        let initialXValue = itemsInitialXMap.get(id);
+                        ip.initialX = initialXValue - widthInPixels / 50;
+                    });
+                    if (selectedItems)
+                        selectedItems.forEach((selectedItem) => {
+                            selectedItem.data.start = new Date(selectedItem.data.start.valueOf() + widthInMilliseconds / 50);
+                            selectedItem.data.end = new Date(selectedItem.data.end.valueOf() + widthInMilliseconds / 50);
+                        });
+                } else {
+                    container.timeline._timeline.itemSet.touchParams.itemProps[0].initialX = ix - widthInPixels / 50;
                     item.data.start = new Date(item.data.start.valueOf() + widthInMilliseconds / 50);
-                }
-
-                // auto scroll to right when resizing right
-                if (item.data.end >= range.end && (options.max === undefined || range.end < new Date(options.max)) && isResizingRight) {
-                    window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds, widthInPixels, ix);
                     item.data.end = new Date(item.data.end.valueOf() + widthInMilliseconds / 50);
                 }
+            }
 
-                // auto scroll to left when resizing right
-                if (item.data.end <= range.start && (options.min === undefined || range.start > new Date(options.min)) && isResizingRight) {
-                    window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds, widthInPixels, ix);
-                    item.data.end = new Date(item.data.end.valueOf() - widthInMilliseconds / 50);
-                }
+            // auto scroll to left when resizing left
+            if (item.data.start <= range.start && (options.min === undefined || range.start > new Date(options.min)) && isResizingLeft) {
+                window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds, widthInPixels, ix);
+                item.data.start = new Date(item.data.start.valueOf() - widthInMilliseconds / 50);
             }
-        }, 100);
+
+            // auto scroll to right when resizing left
+            if (item.data.start >= range.end && (options.max === undefined || range.end < new Date(options.max)) && isResizingLeft) {
+                window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds, widthInPixels, ix);
+                item.data.start = new Date(item.data.start.valueOf() + widthInMilliseconds / 50);
+            }
+
+            // auto scroll to right when resizing right
+            if (item.data.end >= range.end && (options.max === undefined || range.end < new Date(options.max)) && isResizingRight) {
+                window.vcftimeline._moveWindowToLeft(container, range, widthInMilliseconds, widthInPixels, ix);
+                item.data.end = new Date(item.data.end.valueOf() + widthInMilliseconds / 50);
+            }
+
+            // auto scroll to left when resizing right
+            if (item.data.end <= range.start && (options.min === undefined || range.start > new Date(options.min)) && isResizingRight) {
+                window.vcftimeline._moveWindowToRight(container, range, widthInMilliseconds, widthInPixels, ix);
+                item.data.end = new Date(item.data.end.valueOf() - widthInMilliseconds / 50);
+            }
+        };
+        const autoScroll = (timestamp) => {
+            autoScrollFrame = null;
+            if (!container.isConnected || container.timeline?._timeline !== timeline
+                || !timeline.itemSet.touchParams.itemIsDragging)
+                return;
+            if (timestamp - lastAutoScroll >= AUTO_SCROLL_INTERVAL) {
+                lastAutoScroll = timestamp;
+                autoScrollStep();
+            }
+            autoScrollFrame = requestAnimationFrame(autoScroll);
+        };
+        itemSet.hammer.on("panstart", () => {
+            if (autoScrollFrame === null) {
+                lastAutoScroll = performance.now();
+                autoScrollFrame = requestAnimationFrame(autoScroll);
+            }
+        });
+        itemSet.hammer.on("panend", () => {
+            if (autoScrollFrame !== null) {
+                cancelAnimationFrame(autoScrollFrame);
+                autoScrollFrame = null;
+            }
+        });
     },
     _updateMultiSelectionByDragAndDrop(container, startPointTime, endPointTime, startPointY, endPointY) {
+        if (startPointTime === 0)
+            return;
+        const index = container.selectionIndex || (container.selectionIndex = vcftimeline._buildSelectionIndex(container));
+        const itemIds = vcftimeline._findItemsInRectangle(index,
+            Math.min(startPointTime, endPointTime), Math.max(startPointTime, endPointTime),
+            Math.min(startPointY, endPointY), Math.max(startPointY, endPointY)).join(",");
+        // the mouse moves far more often than the selection changes
+        if (itemIds === container.rubberBandSelection)
+            return;
+        container.rubberBandSelection = itemIds;
+        vcftimeline._schedule(container, "select", container.eventThrottle?.select,
+            () => container.$server.onSelect(itemIds));
+    },
 
-        let itemSet = container.timeline._timeline.itemSet;
-        let itemIds = "";
-        let itemArray = Object.values(itemSet.items);
-        let x0 = startPointTime < endPointTime ? startPointTime : endPointTime;
-        let x1 = startPointTime > endPointTime ? startPointTime : endPointTime;
-        let y0 = startPointY < endPointY ? startPointY : endPointY;
-        let y1 = startPointY > endPointY ? startPointY : endPointY;
-        for (let i = 0; i < itemArray.length; i++) {
-            let groupItemTemp = itemSet.groups[itemArray[i].parent.groupId];
-            let itemY = groupItemTemp.top + itemArray[i].top;
-
-            let Ax0 = itemArray[i].data.start.getTime();
-            let Ax1 = itemArray[i].data.end.getTime();
-            let Ay0 = itemY;
-            let Ay1 = itemY + itemArray[i].height;
-            if (startPointTime !== 0)
-                if ((x0 <= Ax0 && x1 >= Ax0 && y0 <= Ay0 && y1 >= Ay0) || (x0 <= Ax0 && x1 >= Ax0 && y0 <= Ay1 && y1 >= Ay1) || (x0 <= Ax1 && x1 >= Ax1 && y0 <= Ay0 && y1 >= Ay0) || (x0 <= Ax1 && x1 >= Ax1 && y0 <= Ay1 && y1 >= Ay1) || (Ax0 <= x0 && Ax1 >= x0 && Ay0 <= y0 && Ay1 >= y0) || (Ax0 <= x0 && Ax1 >= x0 && Ay0 <= y1 && Ay1 >= y1) || (Ax0 <= x1 && Ax1 >= x1 && Ay0 <= y0 && Ay1 >= y0) || (Ax0 <= x1 && Ax1 >= x1 && Ay0 <= y1 && Ay1 >= y1) || (Ax0 <= x0 && Ax1 >= x1 && Ay0 >= y0 && Ay1 <= y1) || (Ax0 >= x0 && Ax1 <= x1 && Ay0 <= y0 && Ay1 >= y1))
-                    // if (x0 <= itemArray[i].data.start.getTime() && x1 >= itemArray[i].data.end.getTime()) {
-                    //
-                    //     if (y0 <= itemY && y1 >= itemY + itemArray[i].height) {
-                    if (itemIds === "") itemIds = itemArray[i].id.toString(); else itemIds += "," + itemArray[i].id.toString();
-            //     }
-            //
-            // }
+    /**
+     * Builds the index used to find the items under the selection rectangle. Groups are sorted by
+     * their top position and the items of every group by start date, together with the longest
+     * item duration of the group, so a rectangle query only visits the groups crossing it
+     * vertically and, in these groups, the items starting close enough to the rectangle.
+     *
+     * @param {Object} container - The timeline container.
+     * @returns {Array} - The indexed groups.
+     */
+    _buildSelectionIndex(container) {
+        const itemSet = container.timeline._timeline.itemSet;
+        const groups = new Map();
+        for (const item of Object.values(itemSet.items)) {
+            const group = itemSet.groups[item.parent?.groupId];
+            if (!group || !item.data.start)
+                continue;
+            let indexed = groups.get(group);
+            if (!indexed) {
+                indexed = {top: group.top, bottom: group.top, items: [], maxDuration: 0};
+                groups.set(group, indexed);
+            }
+            const start = item.data.start.valueOf();
+            const end = item.data.end ? item.data.end.valueOf() : start;
+            const top = group.top + item.top;
+            indexed.items.push({id: item.id, start: start, end: end, top: top, bottom: top + item.height});
+            indexed.maxDuration = Math.max(indexed.maxDuration, end - start);
+            indexed.bottom = Math.max(indexed.bottom, top + item.height);
+        }
+
+        const index = Array.from(groups.values()).sort((a, b) => a.top - b.top);
+        let maxBottom = -Infinity;
+        for (const indexed of index) {
+            indexed.items.sort((a, b) => a.start - b.start);
+            // highest bottom of the groups up to this one, sorted like the tops
+            maxBottom = Math.max(maxBottom, indexed.bottom);
+            indexed.maxBottom = maxBottom;
         }
-        if (startPointTime !== 0) container.$server.onSelect(itemIds);
-        // this.onSelectItem(container, itemIds, false);
+        return index;
+    },
+
+    /**
+     * Returns the ids of the indexed items intersecting a rectangle.
+     */
+    _findItemsInRectangle(index, x0, x1, y0, y1) {
+        const firstIndex = (array, isBefore) => {
+            let low = 0, high = array.length;
+            while (low < high) {
+                const middle = (low + high) >>> 1;
+                if (isBefore(array[middle]))
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        };
+        const ids = [];
+        for (let g = firstIndex(index, group => group.maxBottom < y0); g < index.length && index[g].top <= y1; g++) {
+            const group = index[g];
+            if (group.bottom < y0)
+                continue;
+            const items = group.items;
+            const lowestStart = x0 - group.maxDuration;
+            for (let i = firstIndex(items, item => item.start < lowestStart); i < items.length && items[i].start <= x1; i++) {
+                const item = items[i];
+                if (item.end >= x0 && item.top <= y1 && item.bottom >= y0)
+                    ids.push(item.id);
+            }
+        }
+        return ids;
     },
 
     setUseLineConnector: function (container, bUseLineConnector) {
@@ -941,6 +1421,8 @@ window.vcftimeline = {
     },
 
     setHighlightRange: function (container, start, end) {
+        start = vcftimeline._fromLocalMillis(Number(start)).valueOf();
+        end = vcftimeline._fromLocalMillis(Number(end)).valueOf();
         container.timeline._timeline.on("changed", () => {
             container.timeline._timeline.timeAxis._repaintLabels();
             let left = (start - container.timeline._timeline.range.start) * container.timeline._timeline.body.domProps.centerContainer.width / (container.timeline._timeline.range.end - container.timeline._timeline.range.start);
@@ -948,6 +1430,47 @@ window.vcftimeline = {
             container.timeline._timeline.timeAxis._repaintMinorLine(left, width, "both", "vis-grid-highlighted");
         });
     },
+    /**
+     * Schedules a call to the server, coalesced with the calls of the same kind: only the last
+     * task scheduled before the delay ends runs. A delay of 0 or less runs the task on the next
+     * animation frame, an undefined delay runs it right away.
+     *
+     * @param {Object} container - The timeline container holding the pending tasks.
+     * @param {string} kind - The kind of call, tasks of a same kind replace each other.
+     * @param {number} delay - The delay in milliseconds.
+     * @param {Function} task - The call to run.
+     */
+    _schedule(container, kind, delay, task) {
+        if (delay === undefined || delay === null) {
+            task();
+            return;
+        }
+        const scheduled = container.scheduledCalls || (container.scheduledCalls = {});
+        const pending = scheduled[kind];
+        if (pending) {
+            pending.task = task;
+            return;
+        }
+        const entry = {task: task};
+        const run = () => vcftimeline._flushScheduled(container, kind);
+        entry.cancel = delay > 0
+            ? clearTimeout.bind(window, setTimeout(run, delay))
+            : cancelAnimationFrame.bind(window, requestAnimationFrame(run));
+        scheduled[kind] = entry;
+    },
+
+    /**
+     * Runs right away the pending task of the given kind, if any.
+     */
+    _flushScheduled(container, kind) {
+        const pending = container.scheduledCalls?.[kind];
+        if (pending) {
+            delete container.scheduledCalls[kind];
+            pending.cancel();
+            pending.task();
+        }
+    },
+
     _moveWindowTo(container, dateStart, dateEnd){
        if(container.timeline) container.timeline._timeline.setWindow(new Date(dateStart), new Date(dateEnd), {animation: true});
     },
@@ -974,6 +1497,33 @@ window.vcftimeline = {
         delete parsedOptions.tooltipOnItemUpdateTimeDateFormat;
         delete parsedOptions.tooltipOnItemUpdateTimeTemplate;
 
+        container.virtualizeGroups = parsedOptions.virtualizeGroups;
+        delete parsedOptions.virtualizeGroups;
+
+        container.layoutInWorker = parsedOptions.layoutInWorker;
+        delete parsedOptions.layoutInWorker;
+
+        container.layoutOnAnimationFrame = parsedOptions.layoutOnAnimationFrame;
+        delete parsedOptions.layoutOnAnimationFrame;
+        if (parsedOptions.debugLayout && !container.layoutStats)
+            container.layoutStats = {passes: 0, reads: 0, writes: 0, forcedLayouts: 0, pendingWrites: false};
+        else if (!parsedOptions.debugLayout)
+            delete container.layoutStats;
+        delete parsedOptions.debugLayout;
+
+        // canvas rendering only applies to read-only timelines, it is read when the timeline is created
+        container.canvasRendering = parsedOptions.canvasRendering && !parsedOptions.editable && !tooltipOnItemUpdateTime;
+        delete parsedOptions.canvasRendering;
+
+        container.eventThrottle = {
+            rangeChanged: parsedOptions.rangeChangedEventThrottle,
+            select: parsedOptions.selectEventThrottle,
+            move: parsedOptions.moveEventDelay,
+        };
+        delete parsedOptions.rangeChangedEventThrottle;
+        delete parsedOptions.selectEventThrottle;
+        delete parsedOptions.moveEventDelay;
+
         let defaultOptions = {
             onMove: function (item, callback) {
                 let oldItem = container.timeline._timeline.itemSet.itemsData.get(item.id);
@@ -987,12 +1537,16 @@ window.vcftimeline = {
 
                 if (moveItem) {
                     callback(item);
-                    let startDate = window.vcftimeline._convertDate(item.start);
-                    let endDate = window.vcftimeline._convertDate(item.end);
-                    //update connections
-                    window.vcftimeline._updateConnections(container, false);
-                    //call server
-                    container.$server.onMove(item.id, startDate, endDate, isResizedItem);
+                    //call server with local millis, all items moved together are sent in one batch
+                    const moves = container.pendingMoves || (container.pendingMoves = []);
+                    moves.push({id: item.id, start: vcftimeline._toLocalMillis(item.start),
+                        end: vcftimeline._toLocalMillis(item.end), resized: isResizedItem});
+                    vcftimeline._schedule(container, "move", container.eventThrottle?.move, () => {
+                        container.pendingMoves = [];
+                        // keeps the pending selection before the move, in the order they happened
+                        vcftimeline._flushScheduled(container, "select");
+                        container.$server.onMoveBatch(moves);
+                    });
                 } else {
                     // undo resize
                     callback(null);
@@ -1014,7 +1568,10 @@ window.vcftimeline = {
                     inputElement.onblur = function () {
                         data.content = inputElement.value;
                         item.editing = false;
-                        container.$server.updateItemTitle(data);
+                        container.$server.updateItemTitle(Object.assign({}, data, {
+                            start: vcftimeline._toLocalMillis(data.start),
+                            end: vcftimeline._toLocalMillis(data.end)
+                        }));
                         setTimeout(() => container.timeline._timeline.itemsData.update(data), 0);
                         // container.timeline._timeline.itemsData.update(data);
                     };
@@ -1079,6 +1636,11 @@ window.vcftimeline = {
 
     onSelectItem: function (container, onSelectItem, autoZoom) {
         let temp = onSelectItem.split(",");
+        if (container.canvasItems) {
+            container.canvasSelection = new Set(temp);
+            vcftimeline._requestCanvasPaint(container);
+            return;
+        }
         container.timeline._timeline.setSelection(temp);
     },
 
@@ -1109,8 +1671,12 @@ window.vcftimeline = {
     },
 
     addItem: function (container, newItemJson, autoZoom) {
-        let parsedItem = JSON.parse(newItemJson);
-        let item = {
+        let parsedItem = vcftimeline._parseJson(newItemJson);
+        vcftimeline._itemsData(container).add(vcftimeline._toAddedItem(parsedItem));
+    },
+
+    _toAddedItem: function (parsedItem) {
+        return {
             id: parsedItem.id,
             group: Number.parseInt(parsedItem.group),
             content: "new item",
@@ -1125,15 +1691,13 @@ window.vcftimeline = {
             subgroup: parsedItem.subgroup,
             subgroupOrder: parsedItem.subgroupOrder,
         };
-
-        container.timeline._timeline.itemsData.add(item);
     },
 
     setGroups: function (container, groupsJson) {
          if(container.timeline)
          {
              let groupItems = new DataSet();
-             let parsedGroupItems = JSON.parse(groupsJson);
+             let parsedGroupItems = vcftimeline._parseJson(groupsJson);
              for (let i=0; i < parsedGroupItems.length; i++) {
                 let nestedGroups = [];
                 let groupsNested = [];
@@ -1164,7 +1728,7 @@ window.vcftimeline = {
 
     updateGroupSubgroupStack: function (container, groupsJson) {
         const groups = container.timeline._timeline.itemSet.groups;
-        const parsedGroupItems = JSON.parse(groupsJson);
+        const parsedGroupItems = vcftimeline._parseJson(groupsJson);
 
         parsedGroupItems.forEach(item => {
             const groupId = Number.parseInt(item.groupId, 10);
@@ -1180,10 +1744,478 @@ window.vcftimeline = {
     setItems: function (container, itemsJson, autoZoom) {
         if(container.timeline)
         {
-            let items = new DataSet(JSON.parse(itemsJson));
-            container.timeline._timeline.setItems(items);
+            if (container.canvasItems) {
+                container.canvasItems.clear();
+                container.canvasItems.add(vcftimeline._decodeItems(itemsJson));
+            } else {
+                let items = new DataSet(vcftimeline._decodeItems(itemsJson));
+                container.timeline._timeline.setItems(items);
+                if (container.useLineConnector)
+                    vcftimeline._updateConnections(container, true);
+            }
+            if (autoZoom)
+                vcftimeline.fit(container);
         }
     },
+    /**
+     * Reports the current visible window to the server, so items can be loaded lazily or
+     * aggregated for it.
+     * Deferred like timeline creation, so it runs once the timeline exists.
+     */
+    requestVisibleRange: function (container) {
+        setTimeout(() => {
+            if (container.timeline) {
+                const range = container.timeline._timeline.getWindow();
+                container.$server.updateWindowRangeChangedEvent({start: vcftimeline._toLocalMillis(range.start),
+                    end: vcftimeline._toLocalMillis(range.end),
+                    width: container.timeline._timeline.body.domProps.center.width});
+            }
+        });
+    },
+
+    /**
+     * Enables or disables the display of the time buckets of the visible window.
+     */
+    setTimeBucketOverview: function (container, enabled) {
+        container.timeBucketOverview = enabled;
+        if (enabled)
+            vcftimeline.requestTimeBuckets(container);
+        else
+            setTimeout(() => container.timeline && vcftimeline._replaceTimeBuckets(container, []));
+    },
+
+    /**
+     * Requests the time buckets of the visible window from the server. Deferred like timeline
+     * creation, so it runs once the timeline exists.
+     *
+     * @param {Object} container - The timeline container.
+     * @param {string} [resolution] - HOUR, DAY, WEEK or MONTH, chosen by the server from the zoom level if omitted.
+     */
+    requestTimeBuckets: function (container, resolution) {
+        setTimeout(() => {
+            if (!container.timeline)
+                return;
+            const timeline = container.timeline._timeline;
+            const range = timeline.getWindow();
+            const request = {start: vcftimeline._toLocalMillis(range.start), end: vcftimeline._toLocalMillis(range.end), width: timeline.body.domProps.center.width};
+            if (resolution)
+                request.resolution = resolution;
+            container.$server.requestTimeBuckets(request);
+        });
+    },
+
+    /**
+     * Displays the time buckets sent by the server as background items, darker as they hold more
+     * items, and dispatches them in a "time-buckets" event.
+     */
+    setTimeBuckets: function (container, bucketsJson) {
+        if (!container.timeline)
+            return;
+        const parsed = vcftimeline._parseJson(bucketsJson);
+        const maxCount = parsed.buckets.reduce((max, bucket) => Math.max(max, bucket.count), 1);
+        const bucketItems = container.timeBucketOverview ? parsed.buckets.map(bucket => ({
+            id: "bucket_" + (bucket.group ?? "") + "_" + bucket.start,
+            group: bucket.group !== undefined ? Number.parseInt(bucket.group) : undefined,
+            start: bucket.start,
+            end: bucket.end,
+            type: "background",
+            content: String(bucket.count),
+            title: bucket.count + " items, " + moment.duration(bucket.minDuration).humanize()
+                + " to " + moment.duration(bucket.maxDuration).humanize(),
+            className: "vcf-timeline-bucket",
+            style: "opacity: " + (0.15 + 0.6 * bucket.count / maxCount).toFixed(2) + ";"
+        })) : [];
+        vcftimeline._replaceTimeBuckets(container, bucketItems);
+        container.dispatchEvent(new CustomEvent("time-buckets", {detail: parsed}));
+    },
+
+    _replaceTimeBuckets: function (container, bucketItems) {
+        const itemsData = vcftimeline._itemsData(container);
+        const ids = new Set(bucketItems.map(item => item.id));
+        const staleIds = itemsData.getIds({
+            filter: item => typeof item.id === "string" && item.id.startsWith("bucket_") && !ids.has(item.id)
+        });
+        if (staleIds.length > 0)
+            itemsData.remove(staleIds);
+        if (bucketItems.length > 0)
+            itemsData.update(bucketItems);
+    },
+
+    /**
+     * Applies a diff computed on the server to the items DataSet, so only changed items are
+     * re-rendered instead of rebuilding the whole DataSet.
+     *
+     * @param {Object} container - The timeline container.
+     * @param {Array|Object|string} addedJson - Items to add, possibly in the columnar encoding.
+     * @param {Array|string} updatedJson - Items replacing existing ones.
+     * @param {string} removedIds - Comma separated ids of the items to remove.
+     */
+    applyItemsDiff: function (container, addedJson, updatedJson, removedIds) {
+        if (!container.timeline)
+            return;
+        const itemsData = vcftimeline._itemsData(container);
+        const itemSet = container.timeline._timeline.itemSet;
+        if (removedIds)
+            itemsData.remove(removedIds.split(","));
+
+        const updatedItems = vcftimeline._parseJson(updatedJson);
+        for (const updatedItem of updatedItems) {
+            const current = itemsData.get(updatedItem.id);
+            if (current) {
+                // fields omitted by the server were cleared, so they must not survive the merge
+                for (const field of this._optionalItemFields) {
+                    if (!(field in updatedItem) && current[field] !== undefined)
+                        updatedItem[field] = undefined;
+                }
+            }
+            const item = itemSet.items[updatedItem.id];
+            if (item)
+                vcftimeline.resetItemProperties(item, container, item.data.group);
+        }
+
+        const addedItems = vcftimeline._decodeItems(addedJson);
+        // update also adds unknown ids, it keeps the diff safe when an id is still on the client
+        const changedItems = addedItems.concat(updatedItems);
+        if (changedItems.length > 0)
+            itemsData.update(changedItems);
+    },
+
+    /**
+     * Returns the DataSet holding the items of a timeline, which is not the one of vis when items
+     * are painted on a canvas.
+     */
+    _itemsData: function (container) {
+        return container.canvasItems || container.timeline._timeline.itemsData;
+    },
+
+    /**
+     * Zooms the window to show all the items. vis does not know the items painted on a canvas, so
+     * their range is read from the canvas index.
+     */
+    fit: function (container) {
+        if (!container.timeline)
+            return;
+        if (!container.canvasItems) {
+            container.timeline._timeline.fit();
+            return;
+        }
+        let min = Infinity, max = -Infinity;
+        vcftimeline._getCanvasIndex(container).forEach(indexed => indexed.items.forEach(item => {
+            min = Math.min(min, item.start);
+            max = Math.max(max, item.end);
+        }));
+        if (min < max)
+            container.timeline._timeline.setWindow(min, max);
+    },
+
+    /**
+     * Sets up the canvas painting the items of a read-only timeline. The canvas covers the visible
+     * part of the item area only and is repainted on the next animation frame after the window,
+     * the groups or the items change. Items are indexed per group, sorted by start date, so
+     * painting and hit-testing only visit the items of the visible groups close to the window.
+     */
+    _initCanvasRenderer: function (container) {
+        const timeline = container.timeline._timeline;
+        const canvas = document.createElement("canvas");
+        canvas.className = "vcf-timeline-canvas";
+        canvas.style.position = "absolute";
+        canvas.style.top = "0px";
+        canvas.style.left = "0px";
+        // events go through to vis, which keeps handling panning, zooming and clicks
+        canvas.style.pointerEvents = "none";
+        timeline.dom.centerContainer.appendChild(canvas);
+        container.canvas = canvas;
+        container.canvasSelection = new Set();
+        container.canvasIndex = null;
+
+        container.canvasItems.on("*", () => {
+            container.canvasIndex = null;
+            vcftimeline._requestCanvasPaint(container);
+        });
+        timeline.on("changed", () => vcftimeline._requestCanvasPaint(container));
+
+        timeline.on("click", (properties) => {
+            const item = vcftimeline._canvasItemAt(container, properties);
+            const ids = item ? [item.id] : [];
+            if (properties.event?.srcEvent?.ctrlKey && item)
+                container.canvasSelection.forEach(id => ids.includes(id) || ids.push(id));
+            container.canvasSelection = new Set(ids.map(String));
+            vcftimeline._requestCanvasPaint(container);
+            // sent even when empty, like vis does for its own items, so the server clears its selection
+            vcftimeline._schedule(container, "select", container.eventThrottle?.select,
+                () => container.$server.onSelect(ids.join(",")));
+        });
+        timeline.on("mouseMove", (properties) => {
+            const item = vcftimeline._canvasItemAt(container, properties);
+            const title = item?.title || "";
+            if (timeline.dom.centerContainer.title !== title)
+                timeline.dom.centerContainer.title = title;
+        });
+        vcftimeline._requestCanvasPaint(container);
+    },
+
+    _requestCanvasPaint: function (container) {
+        if (!container.canvas || container.canvasPaintFrame)
+            return;
+        container.canvasPaintFrame = requestAnimationFrame(() => {
+            container.canvasPaintFrame = null;
+            if (container.isConnected && container.canvas)
+                vcftimeline._paintCanvas(container);
+        });
+    },
+
+    /**
+     * Indexes the canvas items per group key, sorted by start date, with the longest duration of
+     * every group.
+     */
+    _getCanvasIndex: function (container) {
+        if (container.canvasIndex)
+            return container.canvasIndex;
+        const index = new Map();
+        container.canvasItems.forEach(data => {
+            if (!data.start)
+                return;
+            const key = data.group === undefined || data.group === null ? "__ungrouped__" : String(data.group);
+            let indexed = index.get(key);
+            if (!indexed) {
+                indexed = {items: [], maxDuration: 0};
+                index.set(key, indexed);
+            }
+            const start = new Date(data.start).valueOf();
+            const end = data.end ? new Date(data.end).valueOf() : start;
+            indexed.items.push({data: data, start: start, end: end});
+            indexed.maxDuration = Math.max(indexed.maxDuration, end - start);
+        });
+        index.forEach(indexed => indexed.items.sort((a, b) => a.start - b.start));
+        container.canvasIndex = index;
+        return index;
+    },
+
+    /**
+     * Calls the callback for every indexed item of a group overlapping the given time range.
+     */
+    _forEachCanvasItem: function (indexed, from, to, callback) {
+        const items = indexed.items;
+        const lowestStart = from - indexed.maxDuration;
+        let low = 0, high = items.length;
+        while (low < high) {
+            const middle = (low + high) >>> 1;
+            if (items[middle].start < lowestStart)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        for (let i = low; i < items.length && items[i].start <= to; i++) {
+            if (items[i].end >= from && callback(items[i]) === false)
+                return;
+        }
+    },
+
+    /**
+     * Returns the vertical band where the items of a group are painted, relative to the canvas.
+     */
+    _canvasRowOf: function (container, group) {
+        const timeline = container.timeline._timeline;
+        const margin = timeline.itemSet.options.margin?.item?.vertical ?? 5;
+        const top = group.top + timeline.body.domProps.scrollTop + margin / 2;
+        return {top: top, height: Math.max(group.height - margin, 4)};
+    },
+
+    _paintCanvas: function (container) {
+        const timeline = container.timeline._timeline;
+        const canvas = container.canvas;
+        const width = timeline.dom.centerContainer.clientWidth;
+        const height = timeline.dom.centerContainer.clientHeight;
+        const ratio = window.devicePixelRatio || 1;
+        if (canvas.width !== Math.round(width * ratio) || canvas.height !== Math.round(height * ratio)) {
+            canvas.width = Math.round(width * ratio);
+            canvas.height = Math.round(height * ratio);
+            canvas.style.width = width + "px";
+            canvas.style.height = height + "px";
+        }
+        const context = canvas.getContext("2d");
+        context.setTransform(ratio, 0, 0, ratio, 0, 0);
+        context.clearRect(0, 0, width, height);
+
+        const index = vcftimeline._getCanvasIndex(container);
+        const from = timeline.range.start;
+        const to = timeline.range.end;
+        const toScreen = (time) => timeline.body.util.toScreen(new Date(time));
+        const styleColors = container.canvasStyleColors || (container.canvasStyleColors = new Map());
+        context.font = "12px sans-serif";
+        context.textBaseline = "middle";
+
+        for (const group of Object.values(timeline.itemSet.groups)) {
+            const indexed = index.get(String(group.groupId));
+            if (!indexed || group.visible === false)
+                continue;
+            const row = vcftimeline._canvasRowOf(container, group);
+            if (row.top > height || row.top + row.height < 0)
+                continue;
+            vcftimeline._forEachCanvasItem(indexed, from, to, (indexedItem) => {
+                const data = indexedItem.data;
+                const left = toScreen(indexedItem.start);
+                // items keep at least one pixel so dense schedules stay visible
+                const itemWidth = Math.max(toScreen(indexedItem.end) - left, 1);
+                const selected = container.canvasSelection.has(String(data.id));
+                context.fillStyle = selected ? "#FFF785" : vcftimeline._canvasColor(styleColors, data.style);
+                context.fillRect(left, row.top, itemWidth, row.height);
+                if (itemWidth > 3) {
+                    context.strokeStyle = selected ? "#FFC200" : "#97B0F8";
+                    context.strokeRect(left + 0.5, row.top + 0.5, itemWidth - 1, row.height - 1);
+                }
+                if (itemWidth > 40 && data.content) {
+                    const text = String(data.content).replace(/<[^>]*>/g, "");
+                    context.save();
+                    context.beginPath();
+                    context.rect(left, row.top, itemWidth, row.height);
+                    context.clip();
+                    context.fillStyle = "#1A1A1A";
+                    context.fillText(text, left + 4, row.top + row.height / 2);
+                    context.restore();
+                }
+            });
+        }
+    },
+
+    /**
+     * Returns the background color set in the style of an item, or the default item color.
+     */
+    _canvasColor: function (styleColors, style) {
+        if (!style)
+            return "#D5DDF6";
+        let color = styleColors.get(style);
+        if (color === undefined) {
+            const match = /background(?:-color)?\s*:\s*([^;]+)/i.exec(style);
+            color = match ? match[1].trim() : "#D5DDF6";
+            styleColors.set(style, color);
+        }
+        return color;
+    },
+
+    /**
+     * Returns the data of the canvas item under the pointer of a vis mouse event, if any. Items
+     * narrower than a few pixels are matched with a tolerance, so short items can still be hit.
+     */
+    _canvasItemAt: function (container, properties) {
+        const timeline = container.timeline._timeline;
+        if (!properties.time || properties.what === "group-label" || properties.what === "axis")
+            return null;
+        const group = timeline.itemSet.groups[properties.group ?? "__ungrouped__"];
+        const indexed = group && vcftimeline._getCanvasIndex(container).get(String(group.groupId));
+        if (!indexed)
+            return null;
+        // vis gives y relative to the center container, which holds the canvas
+        const row = vcftimeline._canvasRowOf(container, group);
+        if (properties.y < row.top || properties.y > row.top + row.height)
+            return null;
+        const time = properties.time.valueOf();
+        const tolerance = 3 * (timeline.range.end - timeline.range.start) / timeline.body.domProps.center.width;
+        let found = null;
+        vcftimeline._forEachCanvasItem(indexed, time - tolerance, time + tolerance, (indexedItem) => {
+            found = indexedItem.data;
+            return indexedItem.start <= time && indexedItem.end >= time ? false : undefined;
+        });
+        return found;
+    },
+
+    /**
+     * Items and groups are sent by the server as JSON values, older callers may still send them
+     * serialized as a string.
+     */
+    _parseJson: function (value) {
+        return typeof value === 'string' ? JSON.parse(value) : value;
+    },
+
+    /**
+     * Returns the epoch millis of the local date time of a date read as UTC. Dates are exchanged
+     * with the server in this encoding, so the server gets the local date time displayed whatever
+     * the time zones of the browser and of the server.
+     *
+     * @param {Date|string|number} date - A date, or a value accepted by the Date constructor.
+     * @returns {number|undefined} The local millis, undefined for a missing date.
+     */
+    _toLocalMillis: function (date) {
+        if (date == null)
+            return undefined;
+        const local = date instanceof Date ? date : new Date(date);
+        const utc = new Date(0);
+        utc.setUTCFullYear(local.getFullYear(), local.getMonth(), local.getDate());
+        utc.setUTCHours(local.getHours(), local.getMinutes(), local.getSeconds(), local.getMilliseconds());
+        return utc.getTime();
+    },
+
+    /**
+     * Returns the date of local millis sent by the server, see _toLocalMillis.
+     *
+     * @param {number} millis - The local millis.
+     * @returns {Date|undefined} The date with the same local date time, undefined for missing millis.
+     */
+    _fromLocalMillis: function (millis) {
+        if (millis == null)
+            return undefined;
+        const utc = new Date(millis);
+        const date = new Date(utc.getUTCFullYear(), utc.getUTCMonth(), utc.getUTCDate(),
+            utc.getUTCHours(), utc.getUTCMinutes(), utc.getUTCSeconds(), utc.getUTCMilliseconds());
+        date.setFullYear(utc.getUTCFullYear());
+        return date;
+    },
+
+    /**
+     * Returns the items of a payload sent by the server, either an array of items or the columnar
+     * encoding of CompactItemsEncoder.
+     */
+    _decodeItems: function (value) {
+        const parsed = vcftimeline._parseJson(value);
+        if (!parsed || parsed.format !== "columns")
+            return parsed;
+
+        const column = (name) => parsed[name];
+        const dictionary = (name) => {
+            const indexes = parsed[name];
+            const values = parsed[name + "Values"];
+            return indexes ? (i) => indexes[i] >= 0 ? values[indexes[i]] : undefined : () => undefined;
+        };
+        const toDate = vcftimeline._fromLocalMillis;
+        const plainColumns = ["id", "content", "subgroup", "subgroupOrder", "selectable", "title"];
+        const columns = plainColumns.map(name => [name, column(name)]).filter(entry => entry[1]);
+        const start = column("start"), end = column("end");
+        const editable = column("editable"), updateTime = column("updateTime"), remove = column("remove");
+        const group = dictionary("group"), className = dictionary("className"), style = dictionary("style");
+
+        const items = new Array(parsed.length);
+        for (let i = 0; i < parsed.length; i++) {
+            const item = {};
+            for (const [name, values] of columns) {
+                if (values[i] != null)
+                    item[name] = values[i];
+            }
+            if (start && start[i] != null) item.start = toDate(start[i]);
+            if (end && end[i] != null) item.end = toDate(end[i]);
+            const itemGroup = group(i);
+            if (itemGroup !== undefined) item.group = itemGroup;
+            if (editable && editable[i] != null) {
+                const itemUpdateTime = updateTime ? updateTime[i] : null;
+                const itemRemove = remove ? remove[i] : null;
+                if (editable[i] && (itemUpdateTime != null || itemRemove != null)) {
+                    item.editable = {};
+                    if (itemUpdateTime != null) item.editable.updateTime = itemUpdateTime;
+                    if (itemRemove != null) item.editable.remove = itemRemove;
+                } else {
+                    item.editable = editable[i];
+                }
+            }
+            const itemClassName = className(i);
+            if (itemClassName !== undefined) item.className = itemClassName;
+            const itemStyle = style(i);
+            if (itemStyle !== undefined) item.style = itemStyle;
+            items[i] = item;
+        }
+        return items;
+    },
+
+    _optionalItemFields: ["content", "title", "className", "style", "group", "subgroup", "end", "editable", "selectable"],
+
     resetGroupReCalculation: function (container, groupId) {
         if (container?.timeline?._timeline?.itemSet?.groups[groupId]) {
             container.timeline._timeline.itemSet.groups[groupId].isReCalculateStack = true;
@@ -1198,7 +2230,7 @@ window.vcftimeline = {
     revertMove: function (container, itemId, itemJson) {
         let item = container.timeline._timeline.itemSet.items[itemId];
         let itemData = item.data;
-        let parsedItem = JSON.parse(itemJson);
+        let parsedItem = vcftimeline._parseJson(itemJson);
         itemData.start = parsedItem.start;
         itemData.end = parsedItem.end;
 
@@ -1210,17 +2242,49 @@ window.vcftimeline = {
         }
     },
 
+    /**
+     * Reverts several moved items at once, with a single update of the items DataSet.
+     *
+     * @param {Object} container - The timeline container.
+     * @param {Array} items - The items with their original start and end dates.
+     */
+    revertMoves: function (container, items) {
+        const itemSet = container.timeline._timeline.itemSet;
+        const revertedData = [];
+        for (const parsedItem of vcftimeline._parseJson(items)) {
+            const item = itemSet.items[parsedItem.id];
+            if (!item)
+                continue;
+            const itemData = item.data;
+            itemData.start = parsedItem.start;
+            itemData.end = parsedItem.end;
+            item.left = item.conversion.toScreen(moment(itemData.start));
+            vcftimeline.resetItemProperties(item, container, itemData.group);
+            revertedData.push(itemData);
+        }
+        if (revertedData.length > 0)
+            container.timeline._timeline.itemsData.update(revertedData);
+    },
+
     removeItem: function (container, itemId) {
        let item = container.timeline._timeline.itemSet.items[itemId];
-       let itemData = item.data;
+       let itemData = item?.data;
        if (item && itemData) {
            vcftimeline.resetItemProperties(item, container, itemData.group);
        }
-       container.timeline._timeline.itemsData.remove(itemId);
+       vcftimeline._itemsData(container).remove(itemId);
     },
 
     updateItemContent: function (container, itemId, newContent) {
+        if (container.canvasItems) {
+            if (container.canvasItems.get(itemId))
+                container.canvasItems.update({id: itemId, content: newContent});
+            return;
+        }
         let item = container.timeline._timeline.itemSet.items[itemId];
+        // items of aggregated groups or outside the loaded range are not on the client
+        if (!item)
+            return;
         let itemData = item.data;
         itemData.content = newContent;
         if (item && itemData) {
@@ -1230,6 +2294,11 @@ window.vcftimeline = {
     },
 
     updateItemGroup: function (container, itemId, groupId) {
+        if (container.canvasItems) {
+            if (container.canvasItems.get(itemId))
+                container.canvasItems.update({id: itemId, group: Number.parseInt(groupId)});
+            return;
+        }
         let item = container.timeline._timeline.itemSet.items[itemId];
         if(item)
         {
@@ -1242,6 +2311,60 @@ window.vcftimeline = {
         }
     },
 
+    /**
+     * Applies the operations of a server side batch. Operations are folded per item id first, so
+     * the DataSet receives a single remove and a single update whatever the number of operations.
+     *
+     * @param {Object} container - The timeline container.
+     * @param {Array} operations - Operations as arrays: ["add", item], ["remove", id],
+     *                             ["content", id, content] or ["group", id, groupId].
+     */
+    applyBatch: function (container, operations) {
+        if (!container.timeline)
+            return;
+        const itemsData = vcftimeline._itemsData(container);
+        const itemSet = container.timeline._timeline.itemSet;
+        // id -> new item data, or null when the item is removed
+        const pending = new Map();
+        const current = (id) => pending.has(id) ? pending.get(id) : itemsData.get(id);
+
+        for (const [type, first, second] of operations) {
+            if (type === "add") {
+                pending.set(first.id, vcftimeline._toAddedItem(first));
+            } else if (type === "remove") {
+                pending.set(first, null);
+            } else {
+                const data = current(first);
+                if (!data)
+                    continue;
+                if (type === "content")
+                    pending.set(first, Object.assign({}, data, {content: second}));
+                else if (type === "group")
+                    pending.set(first, Object.assign({}, data, {group: Number.parseInt(second)}));
+            }
+        }
+
+        const removedIds = [];
+        const changedItems = [];
+        pending.forEach((data, id) => {
+            const item = itemSet.items[id];
+            if (item)
+                vcftimeline.resetItemProperties(item, container, item.data.group);
+            if (data === null) {
+                if (item || itemsData.get(id))
+                    removedIds.push(id);
+            } else {
+                if (item && data.group !== item.data.group)
+                    vcftimeline.resetGroupReCalculation(container, data.group);
+                changedItems.push(data);
+            }
+        });
+        if (removedIds.length > 0)
+            itemsData.remove(removedIds);
+        if (changedItems.length > 0)
+            itemsData.update(changedItems);
+    },
+
     _updateGroupClassName: function (container, group, newClassName) {
         var groupClass = group.className + " " + newClassName;
 
@@ -1316,12 +2439,6 @@ window.vcftimeline = {
         });
     },
 
-    _convertDate: function (date) {
-        let local = new Date(date);
-        local.setMinutes(date.getMinutes() - date.getTimezoneOffset());
-        return local.toJSON().slice(0, 19);
-    },
-
     _sortItems: function (items) {
         return items.sort(function (item1, item2) {
             let item1_date = new Date(item1.start), item2_date = new Date(item2.start);
@@ -1355,12 +2472,84 @@ window.vcftimeline = {
     },
 
     _updateConnections: function (container, bUseLineConnector) {
+        container.useLineConnector = bUseLineConnector;
+        vcftimeline._observeConnectedItems(container);
         if (bUseLineConnector) {
-            let connections = this._createConnections(container.timeline._timeline.itemsData.get());
-            container.timeline.setDependencies(connections);
+            let connections = this._createConnections(vcftimeline._itemsData(container).get());
+            // kept apart from the dependencies set by the server
+            connections.forEach(connection => connection.id = "connector-" + connection.id);
+            container.lineConnectors = connections;
         } else {
-            container.timeline.setDependencies([]);
+            container.lineConnectors = [];
         }
+        this._applyDependencies(container);
+    },
+
+    /**
+     * Replaces the dependencies set by the server.
+     *
+     * @param {Object} container - The timeline container.
+     * @param {Array} dependencies - Dependencies with `id`, `id_item_1`, `id_item_2` and `title`.
+     */
+    setDependencies: function (container, dependencies) {
+        container.dependencies = new Map();
+        this.addDependencies(container, dependencies);
+    },
+
+    addDependencies: function (container, dependencies) {
+        const current = container.dependencies || (container.dependencies = new Map());
+        for (const dependency of vcftimeline._parseJson(dependencies)) {
+            current.set(dependency.id, dependency);
+        }
+        this._applyDependencies(container);
+    },
+
+    /**
+     * @param {Object} container - The timeline container.
+     * @param {string} dependencyIds - Comma separated ids of the dependencies to remove.
+     */
+    removeDependencies: function (container, dependencyIds) {
+        if (!container.dependencies)
+            return;
+        for (const id of dependencyIds.split(",")) {
+            container.dependencies.delete(id);
+        }
+        this._applyDependencies(container);
+    },
+
+    /**
+     * Draws the dependencies set by the server together with the line connectors. Dependencies
+     * received before the timeline is created are drawn once it exists.
+     */
+    _applyDependencies: function (container) {
+        if (!container.timeline)
+            return;
+        const dependencies = container.dependencies ? Array.from(container.dependencies.values()) : [];
+        container.timeline.setDependencies(dependencies.concat(container.lineConnectors || []));
+    },
+
+    /**
+     * Recomputes the line connectors once per animation frame after items are added, removed or
+     * moved, while they are in use. Follows the items when their DataSet is replaced.
+     */
+    _observeConnectedItems: function (container) {
+        const items = container.useLineConnector && container.timeline ? vcftimeline._itemsData(container) : null;
+        if (items === container.connectedItems)
+            return;
+        if (container.connectedItems)
+            container.connectedItems.off("*", container.connectedItemsListener);
+        container.connectedItemsListener = container.connectedItemsListener || (() => {
+            if (container.connectorsFrame)
+                return;
+            container.connectorsFrame = requestAnimationFrame(() => {
+                container.connectorsFrame = null;
+                if (container.useLineConnector && container.timeline)
+                    vcftimeline._updateConnections(container, true);
+            });
+        });
+        if (items)
+            items.on("*", container.connectedItemsListener);
+        container.connectedItems = items;
     },
 
     _updateTimelineHeight: function (container) {
@@ -0,0 +1,139 @@
+package com.vaadin.componentfactory.timeline;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.util.CompactItemsEncoder;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dates sent to the client are displayed as local date times by the browser, and dates received
+ * from it must give back the same local date times, whatever the zones of the browser and of the
+ * server.
+ */
+public class TimelineClientDatesTest {
+
+    /* Zone of the simulated browser, different from the default zone of the server in the tests. */
+    private static final ZoneId BROWSER_ZONE = ZoneId.of("America/New_York");
+
+    private static final TimeZone SERVER_ZONE = TimeZone.getTimeZone("Asia/Kolkata");
+
+    /** Encodes a date displayed by the browser like vcftimeline._toLocalMillis. */
+    private static double browserMillis(Instant displayed) {
+        return displayed.atZone(BROWSER_ZONE).toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /** Decodes local millis sent by the server like vcftimeline._fromLocalMillis. */
+    private static Instant browserDate(long localMillis) {
+        return Instant.ofEpochMilli(localMillis).atZone(ZoneOffset.UTC).toLocalDateTime()
+                .atZone(BROWSER_ZONE).toInstant();
+    }
+
+    private static JsonObject move(String id, double start, double end) {
+        JsonObject move = Json.createObject();
+        move.put("id", id);
+        move.put("start", start);
+        move.put("end", end);
+        move.put("resized", false);
+        return move;
+    }
+
+    @Test
+    public void movedItemKeepsTheLocalDateTimeDisplayedByTheBrowser() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(SERVER_ZONE);
+        try {
+            Item item = new Item(LocalDateTime.of(2024, 3, 9, 9, 0), LocalDateTime.of(2024, 3, 9, 10, 30));
+            item.setId("a");
+            Timeline timeline = new Timeline();
+            timeline.setItems(Collections.singletonList(item), false);
+
+            // the browser displays the item at the local date time encoded by the server
+            JsonObject sent = CompactItemsEncoder.encode(timeline.getItems());
+            Instant displayedStart = browserDate((long) sent.getArray("start").getNumber(0));
+            Instant displayedEnd = browserDate((long) sent.getArray("end").getNumber(0));
+            assertEquals(LocalDateTime.of(2024, 3, 9, 9, 0), displayedStart.atZone(BROWSER_ZONE).toLocalDateTime());
+
+            // dragged to the next day, 23 hours later across the change to daylight saving time
+            Duration drag = Duration.ofHours(23);
+            JsonArray moves = Json.createArray();
+            moves.set(0, move("a", browserMillis(displayedStart.plus(drag)), browserMillis(displayedEnd.plus(drag))));
+            timeline.onMoveBatch(moves);
+
+            Item moved = timeline.getItems().get(0);
+            assertEquals(LocalDateTime.of(2024, 3, 10, 9, 0), moved.getStart());
+            assertEquals(LocalDateTime.of(2024, 3, 10, 10, 30), moved.getEnd());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void windowRangeIsReceivedAsTheLocalDateTimesDisplayed() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(SERVER_ZONE);
+        try {
+            LocalDateTime[] range = new LocalDateTime[2];
+            Timeline timeline = new Timeline();
+            timeline.addWindowRangeChangedListener(event -> {
+                range[0] = event.getNewStart();
+                range[1] = event.getNewEnd();
+            });
+
+            JsonObject window = Json.createObject();
+            window.put("start", browserMillis(LocalDateTime.of(2024, 11, 3, 0, 0).atZone(BROWSER_ZONE).toInstant()));
+            window.put("end", browserMillis(LocalDateTime.of(2024, 11, 3, 23, 0).atZone(BROWSER_ZONE).toInstant()));
+            timeline.updateWindowRangeChangedEvent(window);
+
+            assertEquals(LocalDateTime.of(2024, 11, 3, 0, 0), range[0]);
+            assertEquals(LocalDateTime.of(2024, 11, 3, 23, 0), range[1]);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void localEpochMillisRoundTrip() {
+        LocalDateTime[] dates = {
+                LocalDateTime.of(2024, 3, 31, 2, 30),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000),
+                LocalDateTime.of(1, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_000_000)
+        };
+        for (LocalDateTime date : dates) {
+            assertEquals(date, CompactItemsEncoder.fromLocalEpochMillis(CompactItemsEncoder.toLocalEpochMillis(date)));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vaadin.componentfactory.timeline;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.store.CompactItemStore;
+import com.vaadin.componentfactory.timeline.store.ItemStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimelineItemStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static Item item(String id, int startHour) {
+        Item item = new Item(START.plusHours(startHour), START.plusHours(startHour + 1));
+        item.setId(id);
+        return item;
+    }
+
+    @Test
+    public void itemsAreMovedToTheNewStore() {
+        Timeline timeline = new Timeline();
+        timeline.setItems(Arrays.asList(item("a", 0), item("b", 2)), false);
+        ItemStore previousStore = timeline.getItemStore();
+        timeline.getTimeBucketIndex();
+
+        CompactItemStore store = new CompactItemStore();
+        timeline.setItemStore(store);
+
+        assertSame(store, timeline.getItemStore());
+        assertEquals(2, store.size());
+        assertTrue(previousStore.getItems().isEmpty());
+
+        // the index follows the new store
+        timeline.addItem(item("c", 4), false);
+        assertEquals(3, timeline.getTimeBucketIndex().size());
+    }
+
+    @Test
+    public void rejectedItemsKeepTheCurrentStore() {
+        Timeline timeline = new Timeline();
+        timeline.setItems(Arrays.asList(item("a", 0), new Item(START, START.plusHours(1))), false);
+        ItemStore previousStore = timeline.getItemStore();
+
+        assertThrows(IllegalArgumentException.class, () -> timeline.setItemStore(new CompactItemStore()));
+
+        assertSame(previousStore, timeline.getItemStore());
+        assertEquals(2, timeline.getItems().size());
+    }
+}
@@ -0,0 +1,233 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import static com.vaadin.componentfactory.timeline.store.TestItems.START;
+import static com.vaadin.componentfactory.timeline.store.TestItems.ids;
+import static com.vaadin.componentfactory.timeline.store.TestItems.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactItemStoreTest {
+
+    @Test
+    public void storesEveryColumn() {
+        Item item = item("a", 1, 2);
+        item.setContent("content");
+        item.setTitle("title");
+        item.setGroup("group");
+        item.setClassName("class");
+        item.setStyle("color: red");
+        item.setSubgroup("sub", 3);
+
+        Item stored = new CompactItemStore(Arrays.asList(item)).get("a");
+
+        assertEquals("a", stored.getId());
+        assertEquals(START.plusHours(1), stored.getStart());
+        assertEquals(START.plusHours(2), stored.getEnd());
+        assertEquals("content", stored.getContent());
+        assertEquals("title", stored.getTitle());
+        assertEquals("group", stored.getGroup());
+        assertEquals("class", stored.getClassName());
+        assertEquals("color: red", stored.getStyle());
+        assertEquals("sub", stored.getSubgroup());
+        assertEquals(3, stored.getSubgroupOrder());
+    }
+
+    @Test
+    public void dictionaryValuesAreSharedAndNullable() {
+        Item first = item("a", 0, 1);
+        first.setGroup("group");
+        Item second = item("b", 0, 1);
+        second.setGroup(new String("group"));
+        Item third = item("c", 0, 1);
+        CompactItemStore store = new CompactItemStore(Arrays.asList(first, second, third));
+
+        assertSame(store.get("a").getGroup(), store.get("b").getGroup());
+        assertNull(store.get("c").getGroup());
+        assertNull(store.get("c").getClassName());
+
+        store.get("c").setGroup("other");
+        assertEquals("other", store.get("c").getGroup());
+        assertEquals(Arrays.asList("a", "b"), ids(store.findItems("group", START, START.plusDays(1))));
+        assertTrue(store.findItems("unknown", START, START.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    public void flagsKeepNullTrueAndFalseApart() {
+        Item item = item("a", 0, 1);
+        item.setEditable(true);
+        item.setUpdateTime(false);
+        item.setSelectable(null);
+        item.setRemove(true);
+        Item neighbour = item("b", 0, 1);
+        neighbour.setEditable(false);
+        CompactItemStore store = new CompactItemStore(Arrays.asList(item, neighbour));
+
+        Item stored = store.get("a");
+        assertEquals(Boolean.TRUE, stored.getEditable());
+        assertEquals(Boolean.FALSE, stored.getUpdateTime());
+        assertNull(stored.getSelectable());
+        assertEquals(Boolean.TRUE, stored.getRemove());
+        assertEquals(Boolean.FALSE, store.get("b").getEditable());
+        assertNull(store.get("b").getRemove());
+
+        stored.setEditable(null);
+        stored.setRemove(false);
+        assertNull(stored.getEditable());
+        assertEquals(Boolean.FALSE, stored.getRemove());
+        assertEquals(Boolean.FALSE, store.get("b").getEditable());
+    }
+
+    @Test
+    public void keepsDatesFinerThanMillis() {
+        Item item = new Item(START.plusNanos(1_500), START.withNano(999_999_999));
+        item.setId("a");
+        Item point = new Item(START.minusYears(100), null);
+        point.setId("b");
+        CompactItemStore store = new CompactItemStore(Arrays.asList(item, point));
+
+        assertEquals(START.plusNanos(1_500), store.get("a").getStart());
+        assertEquals(START.withNano(999_999_999), store.get("a").getEnd());
+        assertEquals(START.minusYears(100), store.get("b").getStart());
+        assertNull(store.get("b").getEnd());
+        assertEquals(Arrays.asList("a"), ids(store.findItems(null, START.plusNanos(1_000), START.plusNanos(1_500))));
+        assertTrue(store.findItems(null, START.plusNanos(1_000), START.plusNanos(1_499)).isEmpty());
+        assertTrue(store.findItems(null, START.withNano(999_999_999).plusNanos(1), START.plusSeconds(2)).isEmpty());
+    }
+
+    @Test
+    public void removalsAreCompactedInOrder() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(item("item" + i, i, i + 1));
+        }
+        CompactItemStore store = new CompactItemStore(items);
+        Item kept = store.get("item9");
+
+        for (int i = 0; i < 8; i++) {
+            store.remove("item" + i);
+        }
+
+        assertEquals(2, store.size());
+        assertEquals(Arrays.asList("item8", "item9"), ids(store.getItems()));
+        assertSame(kept, store.get("item9"));
+        kept.setTitle("changed");
+        assertEquals("changed", store.getItems().get(1).getTitle());
+        assertEquals(Arrays.asList("item9"), ids(store.findItems(null, START.plusHours(9).plusMinutes(1), START.plusHours(10))));
+    }
+
+    @Test
+    public void removedViewIsDetached() {
+        CompactItemStore store = new CompactItemStore(Arrays.asList(item("a", 0, 1), item("b", 2, 3)));
+        Item view = store.get("a");
+
+        Item removed = store.remove("a");
+
+        assertSame(view, removed);
+        assertFalse(store.contains("a"));
+        view.setTitle("detached");
+        assertEquals("a", view.getId());
+        assertEquals(START, view.getStart());
+        assertEquals("detached", view.getTitle());
+        assertNull(store.get("b").getTitle());
+
+        Item other = store.get("b");
+        store.clear();
+        assertEquals("b", other.getId());
+        assertEquals(START.plusHours(2), other.getStart());
+    }
+
+    @Test
+    public void itemListFailsAfterStructuralChange() {
+        CompactItemStore store = new CompactItemStore(Arrays.asList(item("a", 0, 1)));
+        List<Item> items = store.getItems();
+
+        store.get("a").setTitle("not structural");
+        assertEquals(1, items.size());
+
+        store.add(item("b", 1, 2));
+        assertThrows(ConcurrentModificationException.class, items::size);
+        assertThrows(ConcurrentModificationException.class, () -> items.get(0));
+    }
+
+    @Test
+    public void itemsRequireAnUniqueId() {
+        CompactItemStore store = new CompactItemStore(Arrays.asList(item("a", 0, 1), item("b", 0, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(new Item(START, START)));
+        assertThrows(IllegalArgumentException.class, () -> store.get("a").setId("b"));
+
+        store.get("a").setId("c");
+        assertNull(store.get("a"));
+        assertEquals(START, store.get("c").getStart());
+    }
+
+    @Test
+    public void updatedStartsKeepRangeQueriesExact() {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(500);
+            items.add(item("item" + i, start, start + random.nextInt(20)));
+        }
+        CompactItemStore store = new CompactItemStore(items);
+
+        for (int round = 0; round < 500; round++) {
+            Item moved = store.get("item" + random.nextInt(items.size()));
+            int start = random.nextInt(500);
+            if (random.nextBoolean()) {
+                moved.setStart(START.plusHours(start));
+                moved.setEnd(START.plusHours(start + random.nextInt(50)));
+                store.update(moved);
+            } else {
+                store.add(item(moved.getId(), start, start + random.nextInt(50)));
+            }
+
+            int from = random.nextInt(550);
+            int to = from + random.nextInt(30);
+            List<String> expected = new ArrayList<>();
+            for (Item item : store.getItems()) {
+                if (!item.getStart().isAfter(START.plusHours(to)) && !item.getEnd().isBefore(START.plusHours(from))) {
+                    expected.add(item.getId());
+                }
+            }
+            List<String> found = ids(store.findItems(null, START.plusHours(from), START.plusHours(to)));
+            expected.sort(null);
+            found.sort(null);
+            assertEquals(expected, found);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.vaadin.componentfactory.timeline.store.TestItems.START;
+import static com.vaadin.componentfactory.timeline.store.TestItems.ids;
+import static com.vaadin.componentfactory.timeline.store.TestItems.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IndexedItemStoreTest {
+
+    @Test
+    public void setItemsWithItsOwnItemsKeepsThem() {
+        IndexedItemStore store = new IndexedItemStore(Arrays.asList(item("a", 0), item("b", 1)));
+
+        store.setItems(store.getItems());
+
+        assertEquals(Arrays.asList("a", "b"), ids(store.getItems()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void replacedItemKeepsItsPosition() {
+        IndexedItemStore store = new IndexedItemStore(Arrays.asList(item("a", 0), item("b", 1), item("c", 2)));
+        Item replacement = item("b", 5);
+
+        store.add(replacement);
+
+        assertEquals(Arrays.asList("a", "b", "c"), ids(store.getItems()));
+        assertSame(replacement, store.get("b"));
+        assertEquals(Arrays.asList("b"), ids(store.findItems(START.plusHours(5), START.plusHours(5))));
+        assertEquals(0, store.findItems(START.plusHours(1).plusMinutes(30), START.plusHours(1).plusMinutes(30)).size());
+    }
+
+    @Test
+    public void removeKeepsTheOrderOfTheOtherItems() {
+        IndexedItemStore store = new IndexedItemStore(Arrays.asList(item("a", 0), item("b", 1), item("c", 2)));
+        List<Item> before = store.getItems();
+
+        assertEquals("b", store.remove("b").getId());
+
+        assertNull(store.get("b"));
+        assertNull(store.remove("b"));
+        assertEquals(Arrays.asList("a", "c"), ids(store.getItems()));
+        assertEquals(Arrays.asList("a", "b", "c"), ids(before));
+    }
+
+    @Test
+    public void itemsWithoutIdAreKeptInOrder() {
+        IndexedItemStore store = new IndexedItemStore();
+        store.add(item(null, 0));
+        store.add(item("a", 1));
+        store.add(item(null, 2));
+
+        assertEquals(Arrays.asList(null, "a", null), ids(store.getItems()));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    public void getItemsIsReadOnly() {
+        IndexedItemStore store = new IndexedItemStore(Arrays.asList(item("a", 0)));
+
+        assertThrows(UnsupportedOperationException.class, () -> store.getItems().add(item("b", 1)));
+    }
+}
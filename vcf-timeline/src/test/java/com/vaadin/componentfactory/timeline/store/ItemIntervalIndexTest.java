@@ -0,0 +1,182 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemIntervalIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static LocalDateTime at(int hour) {
+        return START.plusHours(hour);
+    }
+
+    private static Item item(String id, String group, Integer startHour, Integer endHour) {
+        Item item = new Item(startHour != null ? at(startHour) : null, endHour != null ? at(endHour) : null);
+        item.setId(id);
+        item.setGroup(group);
+        return item;
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void rangeBoundariesAreInclusive() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        index.add(item("before", null, 0, 2));
+        index.add(item("endsAtStart", null, 1, 3));
+        index.add(item("inside", null, 4, 5));
+        index.add(item("startsAtEnd", null, 6, 8));
+        index.add(item("after", null, 7, 9));
+
+        assertEquals(Arrays.asList("endsAtStart", "inside", "startsAtEnd"), ids(index.find(at(3), at(6))));
+        assertEquals(Collections.emptyList(), ids(index.find(at(6), at(3))));
+    }
+
+    @Test
+    public void itemsWithoutEndArePoints() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        index.add(item("point", null, 5, null));
+        index.add(item("endsBeforeStart", null, 5, 2));
+        index.add(item("noStart", null, null, 5));
+
+        assertEquals(Arrays.asList("point", "endsBeforeStart"), ids(index.find(at(5), at(5))));
+        assertEquals(Collections.emptyList(), ids(index.find(at(3), at(4))));
+        assertEquals(Collections.emptyList(), ids(index.find(at(0), at(4))));
+    }
+
+    @Test
+    public void itemsAreOrderedByStartThenInsertion() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        index.add(item("c", null, 2, 3));
+        index.add(item("a", null, 1, 3));
+        index.add(item("b", null, 2, 4));
+
+        assertEquals(Arrays.asList("a", "c", "b"), ids(index.find(at(0), at(10))));
+    }
+
+    @Test
+    public void longItemDoesNotHideOthers() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        index.add(item("year", "g", 0, 24 * 365));
+        for (int hour = 0; hour < 100; hour++) {
+            index.add(item("short" + hour, "g", hour, hour + 1));
+        }
+
+        assertEquals(Arrays.asList("year", "short49", "short50"), ids(index.find("g", at(50), at(50))));
+    }
+
+    @Test
+    public void movedItemIsFoundAtItsNewRange() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        Item item = item("moved", null, 0, 1);
+        index.add(item);
+
+        item.setStart(at(10));
+        item.setEnd(at(11));
+        index.update(item);
+
+        assertEquals(Collections.emptyList(), ids(index.find(at(0), at(1))));
+        assertEquals(Arrays.asList("moved"), ids(index.find(at(10), at(10))));
+    }
+
+    @Test
+    public void groupChangeMovesItemToTheNewGroup() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        Item item = item("a", "g1", 0, 1);
+        index.add(item);
+
+        item.setGroup("g2");
+        index.update(item);
+
+        assertEquals(Collections.emptyList(), ids(index.find("g1", at(0), at(1))));
+        assertEquals(Arrays.asList("a"), ids(index.find("g2", at(0), at(1))));
+        assertEquals(Arrays.asList("a"), ids(index.find(at(0), at(1))));
+    }
+
+    @Test
+    public void removedItemIsNotFound() {
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        Item item = item("a", "g", 0, 1);
+        index.add(item);
+
+        index.remove(item);
+
+        assertEquals(Collections.emptyList(), ids(index.find(at(0), at(1))));
+        assertEquals(Collections.emptyList(), ids(index.find("g", at(0), at(1))));
+    }
+
+    @Test
+    public void matchesLinearScan() {
+        Random random = new Random(42);
+        ItemIntervalIndex index = new ItemIntervalIndex();
+        List<Item> items = new ArrayList<>();
+        for (int operation = 0; operation < 5000; operation++) {
+            int action = random.nextInt(4);
+            if (action == 0 || items.isEmpty()) {
+                int start = random.nextInt(1000);
+                Item item = item("i" + operation, "g" + random.nextInt(3), start,
+                        random.nextBoolean() ? start + random.nextInt(random.nextInt(10) == 0 ? 500 : 5) : null);
+                items.add(item);
+                index.add(item);
+            } else if (action == 1) {
+                index.remove(items.remove(random.nextInt(items.size())));
+            } else if (action == 2) {
+                Item item = items.get(random.nextInt(items.size()));
+                item.setStart(at(random.nextInt(1000)));
+                item.setGroup("g" + random.nextInt(3));
+                index.update(item);
+            } else {
+                LocalDateTime rangeStart = at(random.nextInt(1000));
+                LocalDateTime rangeEnd = rangeStart.plusHours(random.nextInt(20));
+                String group = random.nextBoolean() ? "g" + random.nextInt(3) : null;
+                List<String> expected = items.stream()
+                        .filter(item -> group == null || group.equals(item.getGroup()))
+                        .filter(item -> !item.getStart().isAfter(rangeEnd))
+                        .filter(item -> !(item.getEnd() != null && item.getEnd().isAfter(item.getStart())
+                                ? item.getEnd() : item.getStart()).isBefore(rangeStart))
+                        .map(Item::getId)
+                        .sorted()
+                        .collect(Collectors.toList());
+                List<String> found = new ArrayList<>(ids(group != null
+                        ? index.find(group, rangeStart, rangeEnd)
+                        : index.find(rangeStart, rangeEnd)));
+                Collections.sort(found);
+                assertEquals(expected, found);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.vaadin.componentfactory.timeline.store.TestItems.START;
+import static com.vaadin.componentfactory.timeline.store.TestItems.ids;
+import static com.vaadin.componentfactory.timeline.store.TestItems.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ItemSnapshotTest {
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) {
+            return 1;
+        } else if (type == Boolean.class) {
+            return Boolean.TRUE;
+        } else if (type == LocalDateTime.class) {
+            return START;
+        }
+        return "value";
+    }
+
+    @Test
+    public void frozenItemRejectsEverySetter() throws IllegalAccessException {
+        Item frozen = ItemSnapshot.of(Collections.singletonList(item("a", 0))).get("a");
+
+        int setters = 0;
+        for (Method method : Item.class.getMethods()) {
+            if (!method.getName().startsWith("set")) {
+                continue;
+            }
+            setters++;
+            Object[] arguments = Arrays.stream(method.getParameterTypes()).map(ItemSnapshotTest::defaultValue).toArray();
+            try {
+                method.invoke(frozen, arguments);
+                fail(method + " changed a snapshot item");
+            } catch (InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof UnsupportedOperationException, method.toString());
+            }
+        }
+        assertTrue(setters >= 15);
+        assertEquals(item("a", 0).toJSON(), frozen.toJSON());
+    }
+
+    @Test
+    public void itemsAreCopiedWhenTheSnapshotIsCreated() {
+        Item item = item("a", 0);
+        ItemSnapshot snapshot = ItemSnapshot.of(Collections.singletonList(item));
+
+        item.setTitle("changed");
+
+        assertNotSame(item, snapshot.get("a"));
+        assertNull(snapshot.get("a").getTitle());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getItems().add(item("b", 1)));
+    }
+
+    @Test
+    public void withChangesSharesUnchangedItems() {
+        ItemSnapshot first = ItemSnapshot.of(Arrays.asList(item("a", 0), item("b", 1), item("c", 2)));
+
+        ItemSnapshot second = first.withChanges(Arrays.asList(item("b", 5), item("d", 3)), Collections.singleton("a"));
+
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(Arrays.asList("a", "b", "c"), ids(first.getItems()));
+        assertEquals(Arrays.asList("b", "c", "d"), ids(second.getItems()));
+        assertSame(first.get("c"), second.get("c"));
+        assertEquals(START.plusHours(1), first.get("b").getStart());
+        assertEquals(START.plusHours(5), second.get("b").getStart());
+        assertEquals(Arrays.asList("c", "d"), ids(second.findItems(null, START.plusHours(2), START.plusHours(3))));
+    }
+
+    @Test
+    public void itemsMustHaveAnId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ItemSnapshot.of(Collections.singletonList(new Item(START, START))));
+    }
+
+    @Test
+    public void cachedValuesAreComputedOnce() {
+        ItemSnapshot snapshot = ItemSnapshot.of(Collections.singletonList(item("a", 0)));
+        int[] calls = new int[1];
+
+        Object value = snapshot.getCachedValue("key", s -> {
+            calls[0]++;
+            return new Object();
+        });
+
+        assertSame(value, snapshot.getCachedValue("key", s -> new Object()));
+        assertEquals(1, calls[0]);
+        assertSame(snapshot.getItemsJson(), snapshot.getItemsJson());
+        assertEquals(1, snapshot.getItemsJson().length());
+    }
+}
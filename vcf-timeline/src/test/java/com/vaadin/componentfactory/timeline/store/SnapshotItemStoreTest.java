@@ -0,0 +1,134 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.vaadin.componentfactory.timeline.store.TestItems.START;
+import static com.vaadin.componentfactory.timeline.store.TestItems.ids;
+import static com.vaadin.componentfactory.timeline.store.TestItems.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotItemStoreTest {
+
+    private static ItemSnapshot snapshot() {
+        return ItemSnapshot.of(Arrays.asList(item("a", 0), item("b", 1), item("c", 2)));
+    }
+
+    @Test
+    public void editCopiesTheItemAndLeavesTheSnapshotUntouched() {
+        ItemSnapshot snapshot = snapshot();
+        SnapshotItemStore store = new SnapshotItemStore(snapshot);
+        Item shared = snapshot.get("b");
+
+        Item edited = store.edit("b");
+        edited.setTitle("edited");
+        edited.setStart(START.plusHours(10));
+
+        assertNotSame(shared, edited);
+        assertSame(edited, store.edit("b"));
+        assertSame(edited, store.get("b"));
+        assertNull(snapshot.get("b").getTitle());
+        assertEquals(START.plusHours(1), snapshot.get("b").getStart());
+        assertEquals(Collections.singletonList(edited), new ArrayList<>(store.getChangedItems()));
+
+        // another store of the same snapshot does not see the edit
+        assertSame(shared, new SnapshotItemStore(snapshot).get("b"));
+    }
+
+    @Test
+    public void changesKeepTheOrderOfTheSnapshot() {
+        SnapshotItemStore store = new SnapshotItemStore(snapshot());
+        assertFalse(store.hasChanges());
+
+        store.add(item("d", 3));
+        store.edit("a").setTitle("edited");
+        store.remove("b");
+
+        assertTrue(store.hasChanges());
+        assertEquals(Arrays.asList("a", "c", "d"), ids(store.getItems()));
+        assertEquals(Collections.singleton("b"), store.getRemovedIds());
+        assertEquals(3, store.size());
+        assertEquals(Arrays.asList("a", "b", "c"), ids(store.getSnapshot().getItems()));
+    }
+
+    @Test
+    public void sizeFollowsAddedAndRemovedItems() {
+        SnapshotItemStore store = new SnapshotItemStore(snapshot());
+
+        store.add(item("d", 3));
+        store.add(item("d", 4));
+        assertEquals(4, store.size());
+        store.add(item("a", 5));
+        assertEquals(4, store.size());
+        store.remove("a");
+        store.remove("d");
+        store.remove("missing");
+        assertEquals(2, store.size());
+        assertEquals(store.getItems().size(), store.size());
+    }
+
+    @Test
+    public void findItemsReturnsTheStoredItems() {
+        SnapshotItemStore store = new SnapshotItemStore(snapshot());
+        Item moved = store.edit("a");
+        moved.setStart(START.plusHours(2));
+        moved.setEnd(START.plusHours(3));
+        store.update(moved);
+        store.remove("c");
+
+        List<Item> found = store.findItems(null, START.plusHours(2), START.plusHours(2));
+
+        assertEquals(Arrays.asList("b", "a"), ids(found));
+        assertSame(moved, found.get(1));
+        assertTrue(store.findItems(null, START, START.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    public void setSnapshotDropsLocalChanges() {
+        SnapshotItemStore store = new SnapshotItemStore(snapshot());
+        store.add(item("d", 3));
+        ItemSnapshot next = store.getSnapshot().withChanges(Collections.singletonList(item("e", 4)),
+                Collections.singleton("a"));
+
+        store.setSnapshot(next);
+
+        assertFalse(store.hasChanges());
+        assertSame(next.getItems(), store.getItems());
+        assertEquals(Arrays.asList("b", "c", "e"), ids(store.getItems()));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.getSnapshot().getVersion());
+    }
+}
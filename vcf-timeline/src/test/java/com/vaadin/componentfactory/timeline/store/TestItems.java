@@ -0,0 +1,55 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Items shared by the store tests.
+ */
+final class TestItems {
+
+    static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private TestItems() {
+    }
+
+    /** Returns an item lasting one hour, starting the given number of hours after {@link #START}. */
+    static Item item(String id, int startHour) {
+        return item(id, startHour, startHour + 1);
+    }
+
+    /** Returns an item starting and ending the given numbers of hours after {@link #START}. */
+    static Item item(String id, int startHour, int endHour) {
+        Item item = new Item(START.plusHours(startHour), START.plusHours(endHour));
+        item.setId(id);
+        return item;
+    }
+
+    static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
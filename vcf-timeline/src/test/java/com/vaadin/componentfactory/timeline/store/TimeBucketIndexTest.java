@@ -0,0 +1,181 @@
+package com.vaadin.componentfactory.timeline.store;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import com.vaadin.componentfactory.timeline.model.TimeBucket;
+import com.vaadin.componentfactory.timeline.store.TimeBucketIndex.Resolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TimeBucketIndexTest {
+
+    private static Item item(String group, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item(start, end);
+        item.setGroup(group);
+        return item;
+    }
+
+    @Test
+    public void weeksStartOnMonday() {
+        // 2024-01-07 is a Sunday, 2024-01-08 a Monday
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), Resolution.WEEK.bucketStart(LocalDateTime.of(2024, 1, 7, 23, 59)));
+        assertEquals(LocalDateTime.of(2024, 1, 8, 0, 0), Resolution.WEEK.bucketStart(LocalDateTime.of(2024, 1, 8, 0, 0)));
+        assertEquals(LocalDateTime.of(2024, 1, 8, 0, 0), Resolution.WEEK.bucketEnd(LocalDateTime.of(2024, 1, 1, 0, 0)));
+    }
+
+    @Test
+    public void monthsFollowTheCalendar() {
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), Resolution.MONTH.bucketStart(LocalDateTime.of(2024, 2, 29, 12, 0)));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), Resolution.MONTH.bucketEnd(LocalDateTime.of(2024, 2, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), Resolution.MONTH.bucketEnd(LocalDateTime.of(2024, 12, 1, 0, 0)));
+    }
+
+    @Test
+    public void itemsAreCountedInTheBucketOfTheirStart() {
+        TimeBucketIndex index = new TimeBucketIndex();
+        index.itemAdded(item("g", LocalDateTime.of(2024, 1, 31, 23, 0), LocalDateTime.of(2024, 2, 2, 0, 0)));
+        index.itemAdded(item("g", LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 1, 0)));
+
+        List<TimeBucket> months = index.find(Resolution.MONTH, "g",
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0));
+
+        assertEquals(2, months.size());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), months.get(0).getStart());
+        assertEquals(1, months.get(0).getCount());
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), months.get(1).getStart());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), months.get(1).getEnd());
+        assertEquals(1, months.get(1).getCount());
+        assertEquals(Duration.ofHours(1), months.get(1).getMaxDuration());
+    }
+
+    @Test
+    public void movedItemChangesBucket() {
+        TimeBucketIndex index = new TimeBucketIndex();
+        Item item = item("g", LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 11, 0));
+        index.itemAdded(item);
+
+        item.setStart(LocalDateTime.of(2024, 1, 2, 10, 0));
+        item.setEnd(LocalDateTime.of(2024, 1, 2, 13, 0));
+        index.itemUpdated(item);
+
+        List<TimeBucket> days = index.find(Resolution.DAY, "g",
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 3, 0, 0));
+        assertEquals(1, days.size());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 0, 0), days.get(0).getStart());
+        assertEquals(Duration.ofHours(3), days.get(0).getMinDuration());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void groupChangeMovesItemToTheNewGroup() {
+        TimeBucketIndex index = new TimeBucketIndex();
+        Item item = item("a", LocalDateTime.of(2024, 1, 1, 10, 0), null);
+        index.itemAdded(item);
+
+        item.setGroup("b");
+        index.itemUpdated(item);
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 2, 0, 0);
+        assertEquals(0, index.find(Resolution.HOUR, "a", from, to).size());
+        assertEquals(1, index.find(Resolution.HOUR, "b", from, to).size());
+    }
+
+    @Test
+    public void removedItemLeavesExactDurations() {
+        TimeBucketIndex index = new TimeBucketIndex();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Item shortItem = item("g", start, start.plusMinutes(10));
+        Item longItem = item("g", start, start.plusHours(5));
+        index.itemAdded(shortItem);
+        index.itemAdded(longItem);
+
+        index.itemRemoved(longItem);
+
+        List<TimeBucket> weeks = index.find(Resolution.WEEK, start, start);
+        assertEquals(1, weeks.size());
+        assertEquals(1, weeks.get(0).getCount());
+        assertEquals(Duration.ofMinutes(10), weeks.get(0).getMaxDuration());
+
+        index.itemRemoved(shortItem);
+        assertEquals(0, index.find(Resolution.WEEK, start, start).size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void storeChangesAreFollowed() {
+        IndexedItemStore store = new IndexedItemStore();
+        TimeBucketIndex index = new TimeBucketIndex();
+        store.addItemStoreListener(index);
+        Item item = item("g", LocalDateTime.of(2024, 1, 1, 10, 0), null);
+        item.setId("a");
+
+        store.add(item);
+        assertEquals(1, index.size());
+        store.remove("a");
+        assertEquals(0, index.size());
+        store.add(item);
+        store.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void itemsAreFollowedByIdWhenStoresReturnNewInstances() {
+        CompactItemStore store = new CompactItemStore();
+        TimeBucketIndex index = new TimeBucketIndex();
+        store.addItemStoreListener(index);
+        Item item = item("g", LocalDateTime.of(2024, 1, 1, 10, 0), null);
+        item.setId("a");
+        store.add(item);
+
+        Item replacement = item("g", LocalDateTime.of(2024, 1, 2, 10, 0), null);
+        replacement.setId("a");
+        store.add(replacement);
+        Item view = store.get("a");
+        view.setStart(LocalDateTime.of(2024, 1, 3, 10, 0));
+        store.update(view);
+
+        List<TimeBucket> days = index.find(Resolution.DAY, "g",
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0));
+        assertEquals(1, index.size());
+        assertEquals(1, days.size());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 0, 0), days.get(0).getStart());
+
+        store.remove("a");
+        assertEquals(0, index.size());
+        assertEquals(0, index.find(Resolution.DAY, "g",
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0)).size());
+    }
+
+    @Test
+    public void resolutionForWindowKeepsBucketsAboveTheMinimumWidth() {
+        assertEquals(Resolution.HOUR, Resolution.forWindow(Duration.ofHours(10), 100));
+        assertEquals(Resolution.DAY, Resolution.forWindow(Duration.ofDays(10), 100));
+        assertEquals(Resolution.MONTH, Resolution.forWindow(Duration.ofDays(3650), 10));
+    }
+}
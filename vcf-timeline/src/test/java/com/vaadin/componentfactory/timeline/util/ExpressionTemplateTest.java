@@ -0,0 +1,193 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExpressionTemplateTest {
+
+    public static class Task {
+
+        private final String name;
+        private final LocalDateTime start;
+        private final LocalDate day;
+        private final Double progress;
+        private final boolean done;
+
+        public Task(String name, LocalDateTime start, LocalDate day, Double progress, boolean done) {
+            this.name = name;
+            this.start = start;
+            this.day = day;
+            this.progress = progress;
+            this.done = done;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public Double getProgress() {
+            return progress;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    public static class Note {
+
+        public String getName() {
+            return "note";
+        }
+    }
+
+    private static final List<String> TEMPLATES = Arrays.asList(
+            "",
+            "no expressions at all",
+            "{name}",
+            "Name: {name}, start: {start}, day: {day}, progress: {progress}, done: {done}.",
+            "{name}{name} and {missing}",
+            "broken {name.} and unknown {nope} and {1 +}",
+            "{ 'literal' } and {2 * 3}",
+            "open { brace and } close");
+
+    private static final Function<String, Object> FALLBACK = expression -> "<" + expression + ">";
+
+    private static Task task(String name) {
+        return new Task(name, LocalDateTime.of(2024, 3, 5, 14, 30), LocalDate.of(2024, 3, 5), 0.25, true);
+    }
+
+    /** Implementation of {@link TimelineUtil#parseString} before templates were cached. */
+    private static String legacyParseString(String input, Object context, Function<String, Object> fallbackCallback,
+                                            boolean quoteReplacement) {
+        Pattern pattern = Pattern.compile("\\{([^}]+)}");
+        Matcher matcher = pattern.matcher(input);
+        StringBuilder result = new StringBuilder();
+
+        ExpressionParser parser = new SpelExpressionParser();
+        while (matcher.find()) {
+            String expression = matcher.group(1);
+            Object value = null;
+            try {
+                value = parser.parseExpression(expression).getValue(context);
+            } catch (Exception e) {
+                // ignored like in the original
+            }
+            if (value == null && fallbackCallback != null) {
+                value = fallbackCallback.apply(expression);
+            }
+
+            String replacement;
+            if (value instanceof LocalDateTime) {
+                replacement = TimelineUtil.formatDatesTime((LocalDateTime) value);
+            } else if (value instanceof LocalDate) {
+                replacement = TimelineUtil.formatDates((LocalDate) value);
+            } else if (value instanceof Double) {
+                replacement = TimelineUtil.formatDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                replacement = ((Boolean) value) ? "checked" : "";
+            } else {
+                replacement = value != null ? value.toString() : "";
+            }
+
+            matcher.appendReplacement(result, quoteReplacement ? Matcher.quoteReplacement(replacement) : replacement);
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    @Test
+    public void matchesLegacyOutputWithoutFallback() {
+        for (String template : TEMPLATES) {
+            assertEquals(legacyParseString(template, task("Task"), null, false),
+                    TimelineUtil.parseString(template, task("Task"), null), template);
+        }
+    }
+
+    @Test
+    public void matchesLegacyOutputWithFallback() {
+        for (String template : TEMPLATES) {
+            assertEquals(legacyParseString(template, task("Task"), FALLBACK, false),
+                    TimelineUtil.parseString(template, task("Task"), FALLBACK), template);
+        }
+    }
+
+    @Test
+    public void matchesLegacyOutputOnNullValuesAndNullContext() {
+        Task empty = new Task(null, null, null, null, false);
+        for (String template : TEMPLATES) {
+            assertEquals(legacyParseString(template, empty, FALLBACK, false),
+                    TimelineUtil.parseString(template, empty, FALLBACK), template);
+            assertEquals(legacyParseString(template, null, FALLBACK, false),
+                    TimelineUtil.parseString(template, null, FALLBACK), template);
+        }
+    }
+
+    @Test
+    public void cachedTemplateRendersContextsOfDifferentClasses() {
+        String template = "Name: {name}";
+        // enough evaluations for the expression to be compiled against Task
+        for (int i = 0; i < 200; i++) {
+            assertEquals("Name: Task", TimelineUtil.parseString(template, task("Task"), null));
+        }
+        assertEquals("Name: note", TimelineUtil.parseString(template, new Note(), null));
+    }
+
+    @Test
+    public void dollarAndBackslashValuesAreKeptLiterally() {
+        String template = "Cost: {name} and {missing}";
+        Function<String, Object> fallback = expression -> "\\d";
+        Task task = task("$1 for C:\\temp");
+
+        // the values are appended as they are, like the legacy code with quoted replacements
+        assertEquals("Cost: $1 for C:\\temp and \\d", TimelineUtil.parseString(template, task, fallback));
+        assertEquals(legacyParseString(template, task, fallback, true),
+                TimelineUtil.parseString(template, task, fallback));
+
+        // the legacy code read them as group references and escapes
+        assertEquals("Cost: name for C:temp and d", legacyParseString(template, task, fallback, false));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> legacyParseString(template, task("$2"), null, false));
+    }
+}
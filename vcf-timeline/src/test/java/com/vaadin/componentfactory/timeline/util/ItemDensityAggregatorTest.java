@@ -0,0 +1,74 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.vaadin.componentfactory.timeline.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemDensityAggregatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static List<Item> items(String group, int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item(START.plusMinutes(i), START.plusMinutes(i + 1));
+            item.setGroup(group);
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Test
+    public void aggregateIdsOfDifferentGroupsNeverCollide() {
+        Set<String> ids = new HashSet<>();
+        int aggregates = 0;
+        for (String group : Arrays.asList("a", "a_1", "1", null)) {
+            for (Item aggregate : ItemDensityAggregator.aggregate(group, items(group, 120), START, START.plusHours(2), 24)) {
+                ids.add(aggregate.getId());
+                aggregates++;
+            }
+        }
+
+        assertEquals(aggregates, ids.size());
+    }
+
+    @Test
+    public void bucketsCountTheOverlappingItems() {
+        List<Item> aggregates = ItemDensityAggregator.aggregate("g", items("g", 60), START, START.plusHours(2), 2);
+
+        // the last item ends on the boundary of the second bucket
+        assertEquals(2, aggregates.size());
+        assertEquals("60", aggregates.get(0).getContent());
+        assertEquals("1", aggregates.get(1).getContent());
+        assertEquals("g", aggregates.get(0).getGroup());
+    }
+}
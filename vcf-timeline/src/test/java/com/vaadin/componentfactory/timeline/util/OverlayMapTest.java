@@ -0,0 +1,128 @@
+package com.vaadin.componentfactory.timeline.util;
+
+/*-
+ * #%L
+ * Timeline for Flow
+ * %%
+ * Copyright (C) 2021 - 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OverlayMapTest {
+
+    private static Map<String, Integer> base() {
+        Map<String, Integer> base = new LinkedHashMap<>();
+        base.put("a", 1);
+        base.put("b", 2);
+        base.put("c", 3);
+        return Collections.unmodifiableMap(base);
+    }
+
+    private static List<String> entries(Map<String, Integer> map) {
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        return entries;
+    }
+
+    @Test
+    public void iteratesBaseOrderThenAddedKeys() {
+        OverlayMap<String, Integer> map = new OverlayMap<>(base());
+
+        map.put("e", 5);
+        map.put("b", 20);
+        map.put("d", 4);
+        map.remove("a");
+
+        assertEquals(Arrays.asList("b=20", "c=3", "e=5", "d=4"), entries(map));
+        assertEquals(Arrays.asList("b", "c", "e", "d"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    public void sizeFollowsBaseAndAddedKeys() {
+        OverlayMap<String, Integer> map = new OverlayMap<>(base());
+        assertEquals(3, map.size());
+
+        map.put("b", 20);
+        assertEquals(3, map.size());
+        map.put("d", 4);
+        map.put("d", 40);
+        assertEquals(4, map.size());
+
+        map.remove("b");
+        assertEquals(3, map.size());
+        map.remove("b");
+        map.remove("missing");
+        assertEquals(3, map.size());
+        map.remove("d");
+        assertEquals(2, map.size());
+
+        map.put("b", 200);
+        assertEquals(3, map.size());
+        assertEquals(entries(map).size(), map.size());
+    }
+
+    @Test
+    public void removedKeysAndOverlayDescribeTheChanges() {
+        OverlayMap<String, Integer> map = new OverlayMap<>(base());
+        assertFalse(map.hasChanges());
+
+        map.put("a", 10);
+        map.put("d", 4);
+        map.remove("b");
+        map.remove("d");
+
+        assertTrue(map.hasChanges());
+        assertEquals(Collections.singletonMap("a", 10), map.getOverlay());
+        assertEquals(Collections.singleton("b"), map.getRemovedKeys());
+        assertNull(map.get("b"));
+        assertFalse(map.containsKey("b"));
+        assertEquals(Integer.valueOf(10), map.get("a"));
+
+        map.put("b", 2);
+        assertTrue(map.getRemovedKeys().isEmpty());
+        assertEquals(Integer.valueOf(2), map.get("b"));
+    }
+
+    @Test
+    public void baseMapIsNeverModified() {
+        Map<String, Integer> base = base();
+        OverlayMap<String, Integer> map = new OverlayMap<>(base);
+
+        map.put("a", 10);
+        map.remove("b");
+        map.clear();
+
+        assertEquals(Arrays.asList("a=1", "b=2", "c=3"), entries(base));
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        map.put("a", 100);
+        assertEquals(Arrays.asList("a=100"), entries(map));
+    }
+}